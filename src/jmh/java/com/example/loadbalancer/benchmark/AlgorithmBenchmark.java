@@ -0,0 +1,84 @@
+package com.example.loadbalancer.benchmark;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.ConsistentHashAlgorithm;
+import com.example.loadbalancer.core.LeastConnectionsAlgorithm;
+import com.example.loadbalancer.core.LeastLatencyAlgorithm;
+import com.example.loadbalancer.core.LoadBalancingAlgorithm;
+import com.example.loadbalancer.core.PowerOfTwoChoicesAlgorithm;
+import com.example.loadbalancer.core.RoundRobinAlgorithm;
+import com.example.loadbalancer.core.WeightedRoundRobinAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlgorithmBenchmark {
+
+    @Param({"3", "100", "10000"})
+    private int backendCount;
+
+    @Param({"round-robin", "weighted-round-robin", "least-connections", "p2c", "consistent-hash", "least-latency"})
+    private String algorithmName;
+
+    private BackendPool backendPool;
+    private LoadBalancingAlgorithm algorithm;
+
+    @Setup
+    public void setUp() {
+        backendPool = new BackendPool();
+        for (int i = 0; i < backendCount; i++) {
+            Backend backend = new Backend("10.0." + (i / 250) + "." + (i % 250), 9000, 1 + i % 4);
+            if (i % 10 == 9) {
+                backend.setHealthy(false);
+            }
+            backendPool.addBackend(backend);
+        }
+
+        algorithm = switch (algorithmName) {
+            case "round-robin" -> new RoundRobinAlgorithm();
+            case "weighted-round-robin" -> new WeightedRoundRobinAlgorithm();
+            case "least-connections" -> new LeastConnectionsAlgorithm();
+            case "p2c" -> new PowerOfTwoChoicesAlgorithm();
+            case "consistent-hash" -> new ConsistentHashAlgorithm();
+            case "least-latency" -> new LeastLatencyAlgorithm();
+            default -> throw new IllegalArgumentException("Unknown algorithm " + algorithmName);
+        };
+    }
+
+    @Benchmark
+    public Backend selectFromList() {
+        return algorithm.selectBackend(backendPool.getAllBackends());
+    }
+
+    @Benchmark
+    public Backend selectFromSnapshot() {
+        return algorithm.select(backendPool.getSnapshot());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Backend selectContended() {
+        Backend backend = algorithm.select(backendPool.getSnapshot());
+        backend.incrementConnections();
+        backend.decrementConnections();
+        return backend;
+    }
+}
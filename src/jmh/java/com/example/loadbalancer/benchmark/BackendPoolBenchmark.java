@@ -0,0 +1,62 @@
+package com.example.loadbalancer.benchmark;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.BackendSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class BackendPoolBenchmark {
+
+    @Param({"3", "100", "10000"})
+    private int backendCount;
+
+    private BackendPool backendPool;
+
+    @Setup
+    public void setUp() {
+        backendPool = new BackendPool();
+        for (int i = 0; i < backendCount; i++) {
+            Backend backend = new Backend("10.0." + (i / 250) + "." + (i % 250), 9000);
+            if (i % 10 == 9) {
+                backend.setHealthy(false);
+            }
+            backendPool.addBackend(backend);
+        }
+    }
+
+    @Benchmark
+    public List<Backend> getAllBackends() {
+        return backendPool.getAllBackends();
+    }
+
+    @Benchmark
+    public List<Backend> getHealthyBackends() {
+        return backendPool.getHealthyBackends();
+    }
+
+    @Benchmark
+    public BackendSnapshot getSnapshot() {
+        return backendPool.getSnapshot();
+    }
+}
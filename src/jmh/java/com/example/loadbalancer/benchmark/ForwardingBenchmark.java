@@ -0,0 +1,125 @@
+package com.example.loadbalancer.benchmark;
+
+import com.example.loadbalancer.config.LoadBalancerProperties;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.RoundRobinAlgorithm;
+import com.example.loadbalancer.health.HealthChecker;
+import com.example.loadbalancer.server.TcpLoadBalancerServer;
+import com.example.loadbalancer.util.MockBackendServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Loopback client -> load balancer -> echo backend, all in the benchmark JVM.
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ForwardingBenchmark {
+
+    private static final int BULK_SIZE = 64 * 1024;
+
+    @Param({"event-loop", "virtual"})
+    private String threadingModel;
+
+    private MockBackendServer backendServer;
+    private TcpLoadBalancerServer server;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        backendServer = new MockBackendServer(freePort());
+        backendServer.start();
+
+        LoadBalancerProperties.BackendConfig backendConfig = new LoadBalancerProperties.BackendConfig();
+        backendConfig.setHost("localhost");
+        backendConfig.setPort(backendServer.getPort());
+
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.setPort(0);
+        properties.setThreadingModel(threadingModel);
+        properties.setBackends(List.of(backendConfig));
+
+        BackendPool backendPool = new BackendPool();
+        server = new TcpLoadBalancerServer(
+                properties, backendPool, new RoundRobinAlgorithm(), new HealthChecker(backendPool));
+        server.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop();
+        backendServer.stop();
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        private final byte[] block = new byte[BULK_SIZE];
+        private Socket socket;
+        private InputStream in;
+        private OutputStream out;
+
+        @Setup(Level.Trial)
+        public void connect(ForwardingBenchmark benchmark) throws IOException {
+            socket = new Socket("localhost", benchmark.server.getLocalPort());
+            socket.setTcpNoDelay(true);
+            in = socket.getInputStream();
+            out = socket.getOutputStream();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int roundTripLatency(Client client) throws IOException {
+        client.out.write(1);
+        return client.in.read();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int bulkEchoThroughput(Client client) throws IOException {
+        client.out.write(client.block);
+        int offset = 0;
+        while (offset < BULK_SIZE) {
+            int read = client.in.read(client.block, offset, BULK_SIZE - offset);
+            if (read == -1) {
+                throw new IOException("Connection closed after " + offset + " bytes");
+            }
+            offset += read;
+        }
+        return offset;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
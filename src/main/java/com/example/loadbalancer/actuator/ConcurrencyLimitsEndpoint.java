@@ -0,0 +1,48 @@
+package com.example.loadbalancer.actuator;
+
+import com.example.loadbalancer.core.AdaptiveConcurrencyLimit;
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendPool;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Live per-backend connection limits at /actuator/concurrencylimits.
+@Component
+@Endpoint(id = "concurrencylimits")
+public class ConcurrencyLimitsEndpoint {
+
+    private final BackendPool backendPool;
+
+    public ConcurrencyLimitsEndpoint(BackendPool backendPool) {
+        this.backendPool = backendPool;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> limits() {
+        Map<String, Map<String, Object>> limits = new LinkedHashMap<>();
+        for (Backend backend : backendPool.getAllBackends()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("activeConnections", backend.getActiveConnections());
+            details.put("limit", backend.getConnectionLimit());
+            details.put("maxConnections", backend.getMaxConnections());
+
+            AdaptiveConcurrencyLimit adaptive = backend.getConcurrencyLimit();
+            if (adaptive != null) {
+                details.put("adaptiveLimit", adaptive.getLimit());
+                details.put("shortRttMillis", toMillis(adaptive.getShortRttNanos()));
+                details.put("longRttMillis", toMillis(adaptive.getLongRttNanos()));
+            }
+            limits.put(backend.toString(), details);
+        }
+        return limits;
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.loadbalancer.config;
 
+import com.example.loadbalancer.core.ConsistentHashAlgorithm;
 import com.example.loadbalancer.core.LoadBalancingAlgorithm;
 import com.example.loadbalancer.core.RoundRobinAlgorithm;
 import org.springframework.context.annotation.Bean;
@@ -14,6 +15,11 @@ import java.util.stream.Collectors;
 @Configuration
 public class AlgorithmFactory {
 
+    @Bean
+    public ConsistentHashAlgorithm consistentHashAlgorithm(LoadBalancerProperties properties) {
+        return new ConsistentHashAlgorithm(properties.isHashClientPort());
+    }
+
     @Bean
     @Primary
     public LoadBalancingAlgorithm loadBalancingAlgorithm(
@@ -12,9 +12,36 @@ public class LoadBalancerProperties {
 
     private int port = 8080;
     private String algorithm = "round-robin";
+    private boolean hashClientPort = false;
     private int healthCheckIntervalSeconds = 5;
     private int healthCheckTimeoutSeconds = 2;
+    private String threadingModel = "event-loop";
+    private int eventLoopThreads = 0;
+    private boolean reusePort = false;
+    private int acceptorThreads = 0;
+    private String transport = "nio";
+    private int bufferSize = 8192;
+    private int maxPooledBuffersPerLoop = 1024;
+    private int healthCheckRise = 2;
+    private int healthCheckFall = 3;
+    private int ejectionConsecutiveFailures = 5;
+    private long ejectionBaseMillis = 1000;
+    private long ejectionMaxMillis = 30000;
+    private int maxEjectionPercent = 50;
+    private int connectTimeoutMillis = 1000;
+    private int connectAttempts = 3;
+    private long clientIdleTimeoutMillis = 0;
+    private long backendIdleTimeoutMillis = 0;
+    private long maxConnectionLifetimeMillis = 0;
+    private int maxConnections = 0;
+    private int admissionQueueSize = 1024;
+    private long admissionTimeoutMillis = 1000;
+    private int slowStartSeconds = 0;
+    private long latencyDecayMillis = 10000;
+    private int dnsRefreshIntervalSeconds = 30;
     private List<BackendConfig> backends = new ArrayList<>();
+    private WarmPool warmPool = new WarmPool();
+    private AdaptiveConcurrency adaptiveConcurrency = new AdaptiveConcurrency();
 
     public int getPort() {
         return port;
@@ -32,6 +59,14 @@ public class LoadBalancerProperties {
         this.algorithm = algorithm;
     }
 
+    public boolean isHashClientPort() {
+        return hashClientPort;
+    }
+
+    public void setHashClientPort(boolean hashClientPort) {
+        this.hashClientPort = hashClientPort;
+    }
+
     public int getHealthCheckIntervalSeconds() {
         return healthCheckIntervalSeconds;
     }
@@ -48,6 +83,62 @@ public class LoadBalancerProperties {
         this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
     }
 
+    public String getThreadingModel() {
+        return threadingModel;
+    }
+
+    public void setThreadingModel(String threadingModel) {
+        this.threadingModel = threadingModel;
+    }
+
+    public int getEventLoopThreads() {
+        return eventLoopThreads;
+    }
+
+    public void setEventLoopThreads(int eventLoopThreads) {
+        this.eventLoopThreads = eventLoopThreads;
+    }
+
+    public boolean isReusePort() {
+        return reusePort;
+    }
+
+    public void setReusePort(boolean reusePort) {
+        this.reusePort = reusePort;
+    }
+
+    public int getAcceptorThreads() {
+        return acceptorThreads;
+    }
+
+    public void setAcceptorThreads(int acceptorThreads) {
+        this.acceptorThreads = acceptorThreads;
+    }
+
+    public String getTransport() {
+        return transport;
+    }
+
+    public void setTransport(String transport) {
+        this.transport = transport;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getMaxPooledBuffersPerLoop() {
+        return maxPooledBuffersPerLoop;
+    }
+
+    public void setMaxPooledBuffersPerLoop(int maxPooledBuffersPerLoop) {
+        this.maxPooledBuffersPerLoop = maxPooledBuffersPerLoop;
+    }
+
     public List<BackendConfig> getBackends() {
         return backends;
     }
@@ -56,9 +147,165 @@ public class LoadBalancerProperties {
         this.backends = backends;
     }
 
+    public int getHealthCheckRise() {
+        return healthCheckRise;
+    }
+
+    public void setHealthCheckRise(int healthCheckRise) {
+        this.healthCheckRise = healthCheckRise;
+    }
+
+    public int getHealthCheckFall() {
+        return healthCheckFall;
+    }
+
+    public void setHealthCheckFall(int healthCheckFall) {
+        this.healthCheckFall = healthCheckFall;
+    }
+
+    public int getEjectionConsecutiveFailures() {
+        return ejectionConsecutiveFailures;
+    }
+
+    public void setEjectionConsecutiveFailures(int ejectionConsecutiveFailures) {
+        this.ejectionConsecutiveFailures = ejectionConsecutiveFailures;
+    }
+
+    public long getEjectionBaseMillis() {
+        return ejectionBaseMillis;
+    }
+
+    public void setEjectionBaseMillis(long ejectionBaseMillis) {
+        this.ejectionBaseMillis = ejectionBaseMillis;
+    }
+
+    public long getEjectionMaxMillis() {
+        return ejectionMaxMillis;
+    }
+
+    public void setEjectionMaxMillis(long ejectionMaxMillis) {
+        this.ejectionMaxMillis = ejectionMaxMillis;
+    }
+
+    public int getMaxEjectionPercent() {
+        return maxEjectionPercent;
+    }
+
+    public void setMaxEjectionPercent(int maxEjectionPercent) {
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    public int getConnectAttempts() {
+        return connectAttempts;
+    }
+
+    public void setConnectAttempts(int connectAttempts) {
+        this.connectAttempts = connectAttempts;
+    }
+
+    public long getClientIdleTimeoutMillis() {
+        return clientIdleTimeoutMillis;
+    }
+
+    public void setClientIdleTimeoutMillis(long clientIdleTimeoutMillis) {
+        this.clientIdleTimeoutMillis = clientIdleTimeoutMillis;
+    }
+
+    public long getBackendIdleTimeoutMillis() {
+        return backendIdleTimeoutMillis;
+    }
+
+    public void setBackendIdleTimeoutMillis(long backendIdleTimeoutMillis) {
+        this.backendIdleTimeoutMillis = backendIdleTimeoutMillis;
+    }
+
+    public long getMaxConnectionLifetimeMillis() {
+        return maxConnectionLifetimeMillis;
+    }
+
+    public void setMaxConnectionLifetimeMillis(long maxConnectionLifetimeMillis) {
+        this.maxConnectionLifetimeMillis = maxConnectionLifetimeMillis;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getAdmissionQueueSize() {
+        return admissionQueueSize;
+    }
+
+    public void setAdmissionQueueSize(int admissionQueueSize) {
+        this.admissionQueueSize = admissionQueueSize;
+    }
+
+    public long getAdmissionTimeoutMillis() {
+        return admissionTimeoutMillis;
+    }
+
+    public void setAdmissionTimeoutMillis(long admissionTimeoutMillis) {
+        this.admissionTimeoutMillis = admissionTimeoutMillis;
+    }
+
+    public int getSlowStartSeconds() {
+        return slowStartSeconds;
+    }
+
+    public void setSlowStartSeconds(int slowStartSeconds) {
+        this.slowStartSeconds = slowStartSeconds;
+    }
+
+    public long getLatencyDecayMillis() {
+        return latencyDecayMillis;
+    }
+
+    public void setLatencyDecayMillis(long latencyDecayMillis) {
+        this.latencyDecayMillis = latencyDecayMillis;
+    }
+
+    public int getDnsRefreshIntervalSeconds() {
+        return dnsRefreshIntervalSeconds;
+    }
+
+    public void setDnsRefreshIntervalSeconds(int dnsRefreshIntervalSeconds) {
+        this.dnsRefreshIntervalSeconds = dnsRefreshIntervalSeconds;
+    }
+
+    public WarmPool getWarmPool() {
+        return warmPool;
+    }
+
+    public void setWarmPool(WarmPool warmPool) {
+        this.warmPool = warmPool;
+    }
+
+    public AdaptiveConcurrency getAdaptiveConcurrency() {
+        return adaptiveConcurrency;
+    }
+
+    public void setAdaptiveConcurrency(AdaptiveConcurrency adaptiveConcurrency) {
+        this.adaptiveConcurrency = adaptiveConcurrency;
+    }
+
     public static class BackendConfig {
         private String host;
         private int port;
+        private int weight = 1;
+        private boolean prewarm = false;
+        private boolean resolveAll = false;
+        private int maxConnections = 0;
 
         public String getHost() {
             return host;
@@ -75,5 +322,142 @@ public class LoadBalancerProperties {
         public void setPort(int port) {
             this.port = port;
         }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+
+        public boolean isPrewarm() {
+            return prewarm;
+        }
+
+        public void setPrewarm(boolean prewarm) {
+            this.prewarm = prewarm;
+        }
+
+        public boolean isResolveAll() {
+            return resolveAll;
+        }
+
+        public void setResolveAll(boolean resolveAll) {
+            this.resolveAll = resolveAll;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+    }
+
+    public static class WarmPool {
+        private int minIdle = 2;
+        private int maxIdle = 16;
+        private long maxIdleAgeMillis = 30000;
+        private long refillIntervalMillis = 1000;
+        private int connectTimeoutMillis = 1000;
+
+        public int getMinIdle() {
+            return minIdle;
+        }
+
+        public void setMinIdle(int minIdle) {
+            this.minIdle = minIdle;
+        }
+
+        public int getMaxIdle() {
+            return maxIdle;
+        }
+
+        public void setMaxIdle(int maxIdle) {
+            this.maxIdle = maxIdle;
+        }
+
+        public long getMaxIdleAgeMillis() {
+            return maxIdleAgeMillis;
+        }
+
+        public void setMaxIdleAgeMillis(long maxIdleAgeMillis) {
+            this.maxIdleAgeMillis = maxIdleAgeMillis;
+        }
+
+        public long getRefillIntervalMillis() {
+            return refillIntervalMillis;
+        }
+
+        public void setRefillIntervalMillis(long refillIntervalMillis) {
+            this.refillIntervalMillis = refillIntervalMillis;
+        }
+
+        public int getConnectTimeoutMillis() {
+            return connectTimeoutMillis;
+        }
+
+        public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+        }
+    }
+
+    public static class AdaptiveConcurrency {
+        private boolean enabled = false;
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 1000;
+        private double smoothing = 0.2;
+        private double rttTolerance = 1.5;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public double getRttTolerance() {
+            return rttTolerance;
+        }
+
+        public void setRttTolerance(double rttTolerance) {
+            this.rttTolerance = rttTolerance;
+        }
     }
 }
@@ -0,0 +1,89 @@
+package com.example.loadbalancer.core;
+
+// Gradient-style estimate of how many connections a backend can take before it starts
+// queueing. Each sample compares a short average of time-to-first-byte against a long-run
+// baseline: while they agree the limit creeps up by a small queue allowance, and once the
+// short average climbs past `tolerance` times the baseline the limit shrinks in proportion.
+// Failed connects cut it multiplicatively, like loss in TCP Vegas.
+//
+// Samples arrive once per connection, so updates take a lock; the accept path only reads
+// the volatile limit.
+public final class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_ALPHA = 2.0 / (600 + 1);
+    private static final int WARMUP_SAMPLES = 10;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double longRttNanos;
+    private long samples;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limit bounds: " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.estimatedLimit = clamp(initialLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public synchronized void onSample(long rttNanos, int inFlight) {
+        samples++;
+        if (samples <= WARMUP_SAMPLES) {
+            // Plain mean until there is enough history for the averages to mean anything.
+            longRttNanos += (rttNanos - longRttNanos) / samples;
+            shortRttNanos = longRttNanos;
+            return;
+        }
+        shortRttNanos += SHORT_ALPHA * (rttNanos - shortRttNanos);
+        longRttNanos += LONG_ALPHA * (rttNanos - longRttNanos);
+
+        // After a sustained improvement, let the baseline catch up faster than its window.
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+
+        // A backend that isn't being pushed tells us nothing about where its limit is.
+        if (inFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double queueAllowance = Math.sqrt(estimatedLimit);
+        double target = estimatedLimit * gradient + queueAllowance;
+        estimatedLimit = clamp(estimatedLimit * (1 - smoothing) + target * smoothing);
+        limit = (int) estimatedLimit;
+    }
+
+    public synchronized void onDropped() {
+        estimatedLimit = clamp(estimatedLimit * DROP_BACKOFF);
+        limit = (int) estimatedLimit;
+    }
+
+    public synchronized double getShortRttNanos() {
+        return shortRttNanos;
+    }
+
+    public synchronized double getLongRttNanos() {
+        return longRttNanos;
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -1,19 +1,59 @@
 package com.example.loadbalancer.core;
 
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 public class Backend {
+    private static final long DEFAULT_LATENCY_DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+    // A warming backend starts at this fraction of its weight rather than at zero, so it
+    // still sees a trickle of traffic from the first second.
+    private static final double MIN_SLOW_START_FACTOR = 0.1;
+    private static final long NOT_WARMING = Long.MIN_VALUE;
+
     private final String host;
     private final int port;
+    private final int weight;
+    private volatile InetSocketAddress address;
     private volatile boolean healthy = true;
-    private final AtomicInteger activeConnections = new AtomicInteger(0);
+    private volatile boolean ejected;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
+    private final BackendStats stats = new BackendStats();
+    private volatile int maxConnections;
+    private volatile AdaptiveConcurrencyLimit concurrencyLimit;
+    private volatile long slowStartNanos;
+    private final AtomicLong warmingSinceNanos = new AtomicLong(NOT_WARMING);
     private final AtomicLong lastHealthCheck = new AtomicLong(System.currentTimeMillis());
+    private final PeakEwma connectLatency = new PeakEwma(DEFAULT_LATENCY_DECAY_NANOS);
+    private final PeakEwma firstByteLatency = new PeakEwma(DEFAULT_LATENCY_DECAY_NANOS);
+    private volatile Runnable healthListener;
+    private volatile LongSupplier nanoClock = System::nanoTime;
 
     public Backend(String host, int port) {
+        this(host, port, 1);
+    }
+
+    public Backend(String host, int port, int weight) {
+        this(host, port, weight, new InetSocketAddress(host, port));
+    }
+
+    // For members expanded from a hostname's DNS records: the literal address is both the
+    // identity and the connect target, so no lookup happens here.
+    public Backend(InetAddress address, int port, int weight) {
+        this(address.getHostAddress(), port, weight, new InetSocketAddress(address, port));
+    }
+
+    private Backend(String host, int port, int weight, InetSocketAddress address) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("Backend weight must be positive: " + weight);
+        }
         this.host = host;
         this.port = port;
+        this.weight = weight;
+        this.address = address;
     }
 
     public String getHost() {
@@ -24,29 +64,237 @@ public class Backend {
         return port;
     }
 
+    public int getWeight() {
+        return weight;
+    }
+
+    // Cached so the connect and health-check paths never block on DNS; refreshed in the
+    // background through updateAddress. May be unresolved if the last lookup failed.
     public InetSocketAddress getAddress() {
-        return new InetSocketAddress(host, port);
+        return address;
     }
 
+    public boolean updateAddress(InetAddress resolved) {
+        InetSocketAddress current = address;
+        if (resolved.equals(current.getAddress())) {
+            return false;
+        }
+        address = new InetSocketAddress(resolved, port);
+        return true;
+    }
+
+    // Serving only while active checks pass and the data plane has not ejected it.
     public boolean isHealthy() {
-        return healthy;
+        return healthy && !ejected;
     }
 
     public void setHealthy(boolean healthy) {
+        boolean wasHealthy = isHealthy();
         this.healthy = healthy;
         this.lastHealthCheck.set(System.currentTimeMillis());
+        notifyIfChanged(wasHealthy);
+    }
+
+    public boolean isEjected() {
+        return ejected;
+    }
+
+    public void setEjected(boolean ejected) {
+        boolean wasHealthy = isHealthy();
+        this.ejected = ejected;
+        notifyIfChanged(wasHealthy);
+    }
+
+    private void notifyIfChanged(boolean wasHealthy) {
+        boolean nowHealthy = isHealthy();
+        if (!wasHealthy && nowHealthy) {
+            startSlowStart();
+        }
+        Runnable listener = healthListener;
+        if (wasHealthy != nowHealthy && listener != null) {
+            listener.run();
+        }
+    }
+
+    public void setSlowStartMillis(long slowStartMillis) {
+        this.slowStartNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, slowStartMillis));
+    }
+
+    // Called when the backend joins the pool or comes back from being unhealthy or ejected.
+    public void startSlowStart() {
+        if (slowStartNanos > 0) {
+            warmingSinceNanos.set(nanoClock.getAsLong());
+        }
+    }
+
+    public boolean isWarming() {
+        return getSlowStartFactor() < 1.0;
+    }
+
+    // Share of its weight the backend should get right now: ramps linearly from
+    // MIN_SLOW_START_FACTOR to 1 over the slow-start window, and is 1 outside it.
+    public double getSlowStartFactor() {
+        long since = warmingSinceNanos.get();
+        if (since == NOT_WARMING) {
+            return 1.0;
+        }
+        long elapsed = nanoClock.getAsLong() - since;
+        long window = slowStartNanos;
+        if (window <= 0 || elapsed >= window) {
+            // Only clear the ramp we measured, not one restarted since.
+            warmingSinceNanos.compareAndSet(since, NOT_WARMING);
+            return 1.0;
+        }
+        return Math.max(MIN_SLOW_START_FACTOR, (double) elapsed / window);
+    }
+
+    // Weight scaled by the slow-start ramp. Every algorithm weighs backends through this.
+    public double getEffectiveWeight() {
+        return weight * getSlowStartFactor();
     }
 
+    public int recordFailure() {
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    // Read first so the common all-good path doesn't write a shared cache line per connection.
+    public void recordSuccess() {
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public void setConsecutiveFailures(int failures) {
+        consecutiveFailures.set(failures);
+    }
+
+    void setHealthListener(Runnable healthListener) {
+        this.healthListener = healthListener;
+    }
+
+    // 0 means unlimited.
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = Math.max(0, maxConnections);
+    }
+
+    // The tighter of the static cap and the adaptive estimate; 0 means unlimited.
+    public int getConnectionLimit() {
+        int max = maxConnections;
+        AdaptiveConcurrencyLimit adaptive = concurrencyLimit;
+        if (adaptive == null) {
+            return max;
+        }
+        return max > 0 ? Math.min(max, adaptive.getLimit()) : adaptive.getLimit();
+    }
+
+    // Null unless adaptive concurrency limiting is on.
+    public AdaptiveConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public void setConcurrencyLimit(AdaptiveConcurrencyLimit concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    public BackendStats getStats() {
+        return stats;
+    }
+
+    // Exact, for metrics and limits; walks every stripe.
     public int getActiveConnections() {
-        return activeConnections.get();
+        return (int) stats.sum(BackendStats.CONNECTIONS);
+    }
+
+    // Cheap and slightly behind other event loops; what the algorithms rank by.
+    public int getApproximateActiveConnections() {
+        return stats.approximateConnections();
     }
 
     public void incrementConnections() {
-        activeConnections.incrementAndGet();
+        stats.increment(BackendStats.CONNECTIONS);
+    }
+
+    // Takes a connection slot only while the backend is below its limit. Unlimited backends
+    // just bump the caller's stripe; limited ones check the exact count under a lock so
+    // concurrent accepts on different loops can't overshoot. Closes never take the lock,
+    // they can only make room.
+    public boolean tryIncrementConnections() {
+        int max = getConnectionLimit();
+        if (max <= 0) {
+            stats.increment(BackendStats.CONNECTIONS);
+            return true;
+        }
+        synchronized (stats) {
+            if (stats.sum(BackendStats.CONNECTIONS) >= max) {
+                return false;
+            }
+            stats.increment(BackendStats.CONNECTIONS);
+            return true;
+        }
     }
 
     public void decrementConnections() {
-        activeConnections.decrementAndGet();
+        stats.add(BackendStats.CONNECTIONS, -1);
+    }
+
+    // Time constant of the latency averages: how fast old samples lose weight, and how fast
+    // an unsampled backend's latency decays back toward zero.
+    public void setLatencyDecayMillis(long latencyDecayMillis) {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(latencyDecayMillis);
+        connectLatency.setDecayNanos(nanos);
+        firstByteLatency.setDecayNanos(nanos);
+    }
+
+    // Source of System.nanoTime()-style readings for slow start and the latency decay; tests
+    // advance it by hand.
+    public void setNanoClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    public void recordConnectLatency(long nanos) {
+        connectLatency.record(nanos, nanoClock.getAsLong());
+    }
+
+    public void recordFirstByteLatency(long nanos) {
+        firstByteLatency.record(nanos, nanoClock.getAsLong());
+        AdaptiveConcurrencyLimit adaptive = concurrencyLimit;
+        if (adaptive != null) {
+            adaptive.onSample(nanos, stats.approximateConnections());
+        }
+    }
+
+    public void recordConnectFailure() {
+        AdaptiveConcurrencyLimit adaptive = concurrencyLimit;
+        if (adaptive != null) {
+            adaptive.onDropped();
+        }
+    }
+
+    public double getConnectLatencyNanos() {
+        return connectLatency.get(nanoClock.getAsLong());
+    }
+
+    public double getFirstByteLatencyNanos() {
+        return firstByteLatency.get(nanoClock.getAsLong());
+    }
+
+    // Either half of the score counts: connections handed over from the warm pool skip the
+    // connect, so a prewarmed backend may only ever have first-byte samples.
+    public boolean hasLatencySamples() {
+        return connectLatency.hasSamples() || firstByteLatency.hasSamples();
+    }
+
+    public double getLatencyNanos() {
+        long now = nanoClock.getAsLong();
+        return connectLatency.get(now) + firstByteLatency.get(now);
     }
 
     public long getLastHealthCheck() {
@@ -10,15 +10,30 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class BackendPool {
 
     private final List<Backend> backends = new CopyOnWriteArrayList<>();
+    private volatile BackendSnapshot snapshot = BackendSnapshot.EMPTY;
 
     public void addBackend(Backend backend) {
         if (!backends.contains(backend)) {
             backends.add(backend);
+            backend.startSlowStart();
+            backend.setHealthListener(this::rebuildSnapshot);
+            rebuildSnapshot();
         }
     }
 
     public void removeBackend(Backend backend) {
-        backends.remove(backend);
+        if (backends.remove(backend)) {
+            backend.setHealthListener(null);
+            rebuildSnapshot();
+        }
+    }
+
+    public boolean contains(Backend backend) {
+        return backends.contains(backend);
+    }
+
+    public BackendSnapshot getSnapshot() {
+        return snapshot;
     }
 
     public List<Backend> getAllBackends() {
@@ -26,9 +41,7 @@ public class BackendPool {
     }
 
     public List<Backend> getHealthyBackends() {
-        return backends.stream()
-                .filter(Backend::isHealthy)
-                .toList();
+        return snapshot.getHealthyBackends();
     }
 
     public int getTotalBackends() {
@@ -36,9 +49,7 @@ public class BackendPool {
     }
 
     public int getHealthyBackendsCount() {
-        return (int) backends.stream()
-                .filter(Backend::isHealthy)
-                .count();
+        return snapshot.getHealthyCount();
     }
 
     public Backend findBackend(String host, int port) {
@@ -47,4 +58,17 @@ public class BackendPool {
                 .findFirst()
                 .orElse(null);
     }
+
+    // Synchronized so concurrent health flips publish snapshots in version order; each
+    // rebuild reads the current health of every backend, so the last one always wins.
+    private synchronized void rebuildSnapshot() {
+        Backend[] all = backends.toArray(new Backend[0]);
+        List<Backend> healthy = new ArrayList<>(all.length);
+        for (Backend backend : all) {
+            if (backend.isHealthy()) {
+                healthy.add(backend);
+            }
+        }
+        snapshot = new BackendSnapshot(snapshot.getVersion() + 1, all, healthy.toArray(new Backend[0]));
+    }
 }
@@ -0,0 +1,96 @@
+package com.example.loadbalancer.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Immutable view of the pool published by BackendPool whenever membership or health
+// changes, so selection on the accept path can index into it without allocating.
+public final class BackendSnapshot {
+
+    static final BackendSnapshot EMPTY = new BackendSnapshot(0, new Backend[0], new Backend[0]);
+
+    private final long version;
+    private final Backend[] all;
+    private final Backend[] healthy;
+    private final List<Backend> healthyList;
+    private final BackendSnapshot source;
+    private final Backend[] excluded;
+
+    BackendSnapshot(long version, Backend[] all, Backend[] healthy) {
+        this(version, all, healthy, null, new Backend[0]);
+    }
+
+    private BackendSnapshot(long version, Backend[] all, Backend[] healthy, BackendSnapshot source, Backend[] excluded) {
+        this.version = version;
+        this.all = all;
+        this.healthy = healthy;
+        this.healthyList = Collections.unmodifiableList(Arrays.asList(healthy));
+        this.source = source;
+        this.excluded = excluded;
+    }
+
+    public static BackendSnapshot of(List<Backend> backends) {
+        Backend[] all = backends.toArray(new Backend[0]);
+        Backend[] healthy = Arrays.stream(all).filter(Backend::isHealthy).toArray(Backend[]::new);
+        return new BackendSnapshot(0, all, healthy);
+    }
+
+    // A short-lived view for fail-over that hides backends a connection already failed on. It
+    // shares this snapshot's version, so algorithms that cache per version can keep using their
+    // cached state for the source and just skip the excluded entries.
+    public BackendSnapshot excluding(Collection<Backend> failed) {
+        if (failed.isEmpty()) {
+            return this;
+        }
+        List<Backend> remaining = new ArrayList<>(healthy.length);
+        for (Backend backend : healthy) {
+            if (!failed.contains(backend)) {
+                remaining.add(backend);
+            }
+        }
+        List<Backend> allExcluded = new ArrayList<>(Arrays.asList(excluded));
+        allExcluded.addAll(failed);
+        return new BackendSnapshot(version, all, remaining.toArray(new Backend[0]), getSource(),
+                allExcluded.toArray(new Backend[0]));
+    }
+
+    public BackendSnapshot getSource() {
+        return source != null ? source : this;
+    }
+
+    public boolean isExcluded(Backend backend) {
+        for (Backend candidate : excluded) {
+            if (candidate.equals(backend)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getTotalCount() {
+        return all.length;
+    }
+
+    public Backend getBackend(int index) {
+        return all[index];
+    }
+
+    public int getHealthyCount() {
+        return healthy.length;
+    }
+
+    public Backend getHealthy(int index) {
+        return healthy[index];
+    }
+
+    public List<Backend> getHealthyBackends() {
+        return healthyList;
+    }
+}
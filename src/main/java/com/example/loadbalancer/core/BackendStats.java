@@ -0,0 +1,96 @@
+package com.example.loadbalancer.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+// Live per-backend counters, striped into 64-byte blocks. Each thread is handed a stripe
+// round-robin on first use and keeps it. approximateConnections() serves selection from a
+// total refreshed every REFRESH_NANOS plus the caller's own stripe; sum() is exact.
+public final class BackendStats {
+
+    public static final int CONNECTIONS = 0;
+    public static final int BYTES_TO_BACKEND = 1;
+    public static final int BYTES_FROM_BACKEND = 2;
+    public static final int ACCEPTED = 3;
+    public static final int CONNECT_FAILURES = 4;
+    // This stripe's CONNECTIONS as of the last refresh of connectionsTotal.
+    private static final int CONNECTIONS_BASELINE = 5;
+
+    private static final int STRIDE = 8;
+    private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+    private static final int MASK = STRIPES - 1;
+    private static final long REFRESH_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final AtomicInteger NEXT_STRIPE = new AtomicInteger();
+    private static final ThreadLocal<Integer> STRIPE =
+            ThreadLocal.withInitial(() -> NEXT_STRIPE.getAndIncrement() & MASK);
+
+    // One leading block of padding keeps stripe 0 off the line with the array header.
+    private final AtomicLongArray cells = new AtomicLongArray((STRIPES + 1) * STRIDE);
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextRefreshNanos;
+    private volatile long connectionsTotal;
+
+    public BackendStats() {
+        this(System::nanoTime);
+    }
+
+    // Tests pass a manual clock to step past REFRESH_NANOS instead of sleeping.
+    public BackendStats(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.nextRefreshNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public void add(int counter, long delta) {
+        cells.getAndAdd(base(stripe()) + counter, delta);
+    }
+
+    public void increment(int counter) {
+        add(counter, 1);
+    }
+
+    public long sum(int counter) {
+        long sum = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            sum += cells.get(base(stripe) + counter);
+        }
+        return sum;
+    }
+
+    public int approximateConnections() {
+        long now = nanoClock.getAsLong();
+        long due = nextRefreshNanos.get();
+        if (now - due >= 0 && nextRefreshNanos.compareAndSet(due, now + REFRESH_NANOS)) {
+            refresh();
+        }
+        int base = base(stripe());
+        long ownSinceRefresh = cells.get(base + CONNECTIONS) - cells.get(base + CONNECTIONS_BASELINE);
+        return (int) Math.max(0, connectionsTotal + ownSinceRefresh);
+    }
+
+    private void refresh() {
+        long total = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            int base = base(stripe);
+            long connections = cells.get(base + CONNECTIONS);
+            cells.set(base + CONNECTIONS_BASELINE, connections);
+            total += connections;
+        }
+        connectionsTotal = total;
+    }
+
+    private static int stripe() {
+        return STRIPE.get();
+    }
+
+    private static int base(int stripe) {
+        return (stripe + 1) * STRIDE;
+    }
+
+    // Smallest power of two covering every core, within reason for per-backend memory.
+    private static int stripes(int cores) {
+        return Math.min(64, Integer.highestOneBit(Math.max(1, cores - 1)) << 1);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.loadbalancer.core;
+
+import java.net.InetSocketAddress;
+
+public final class ConnectionContext {
+
+    private static final ConnectionContext EMPTY = new ConnectionContext(null);
+
+    private final InetSocketAddress clientAddress;
+
+    private ConnectionContext(InetSocketAddress clientAddress) {
+        this.clientAddress = clientAddress;
+    }
+
+    public static ConnectionContext empty() {
+        return EMPTY;
+    }
+
+    public static ConnectionContext forClient(InetSocketAddress clientAddress) {
+        return new ConnectionContext(clientAddress);
+    }
+
+    public InetSocketAddress getClientAddress() {
+        return clientAddress;
+    }
+}
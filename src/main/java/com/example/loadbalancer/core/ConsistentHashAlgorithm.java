@@ -0,0 +1,188 @@
+package com.example.loadbalancer.core;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Maglev hashing: every healthy backend fills slots of a prime-sized lookup table by
+// walking its own permutation, so a lookup is a single array read and removing one of
+// n backends only remaps roughly 1/n of the keys.
+//
+// The table is built on the accept path by the first acceptor to see a new snapshot and
+// published with a compare-and-set against the table it replaces, only ever over a table for
+// an older snapshot version. An acceptor still holding an older snapshot uses the table it
+// built without publishing it, so a late build can't roll the shared table back.
+public class ConsistentHashAlgorithm implements LoadBalancingAlgorithm {
+
+    private static final int[] TABLE_SIZES = {65537, 262147, 1048583};
+    private static final int MIN_SLOTS_PER_BACKEND = 100;
+    private static final int MAX_WARMING_PROBES = 32;
+
+    private final boolean includeClientPort;
+    private final AtomicReference<LookupTable> table =
+            new AtomicReference<>(new LookupTable(-1, null, new Backend[0]));
+
+    public ConsistentHashAlgorithm() {
+        this(false);
+    }
+
+    public ConsistentHashAlgorithm(boolean includeClientPort) {
+        this.includeClientPort = includeClientPort;
+    }
+
+    @Override
+    public Backend selectBackend(List<Backend> backends) {
+        if (backends == null || backends.isEmpty()) {
+            return null;
+        }
+
+        return select(BackendSnapshot.of(backends));
+    }
+
+    @Override
+    public Backend select(BackendSnapshot snapshot) {
+        return select(snapshot, ConnectionContext.empty());
+    }
+
+    @Override
+    public Backend select(BackendSnapshot snapshot, ConnectionContext context) {
+        BackendSnapshot source = snapshot.getSource();
+        Backend[] slots = tableFor(source).slots;
+        if (slots.length == 0) {
+            return null;
+        }
+
+        InetSocketAddress clientAddress = context != null ? context.getClientAddress() : null;
+        long hash = clientAddress != null
+                ? hashClient(clientAddress)
+                : ThreadLocalRandom.current().nextLong();
+        int slot = (int) Long.remainderUnsigned(hash, slots.length);
+        Backend owner = slots[slot];
+        if (source == snapshot && SlowStart.accept(owner, hash)) {
+            return owner;
+        }
+
+        // Fail-over, and clients not yet let onto a warming owner, probe forward from the
+        // client's slot, so a given client keeps landing on the same second choice. Warming
+        // backends are only skipped for a bounded number of probes.
+        Backend first = null;
+        for (int i = 0; i < slots.length; i++) {
+            Backend backend = slots[(slot + i) % slots.length];
+            if (snapshot.isExcluded(backend)) {
+                continue;
+            }
+            if (SlowStart.accept(backend, hash)) {
+                return backend;
+            }
+            if (first == null) {
+                first = backend;
+            }
+            if (i >= MAX_WARMING_PROBES) {
+                return first;
+            }
+        }
+        return first;
+    }
+
+    private LookupTable tableFor(BackendSnapshot source) {
+        LookupTable built = null;
+        while (true) {
+            LookupTable current = table.get();
+            if (current.snapshot == source) {
+                return current;
+            }
+            if (built == null) {
+                built = new LookupTable(source.getVersion(), source, buildTable(source));
+            }
+            if (current.version > source.getVersion() || table.compareAndSet(current, built)) {
+                return built;
+            }
+        }
+    }
+
+    private long hashClient(InetSocketAddress clientAddress) {
+        long hash = clientAddress.getAddress() != null
+                ? hash(clientAddress.getAddress().getAddress(), 0)
+                : hash(clientAddress.getHostString().getBytes(StandardCharsets.UTF_8), 0);
+        if (includeClientPort) {
+            hash = mix(hash ^ clientAddress.getPort());
+        }
+        return hash;
+    }
+
+    static Backend[] buildTable(BackendSnapshot snapshot) {
+        int backendCount = snapshot.getHealthyCount();
+        if (backendCount == 0) {
+            return new Backend[0];
+        }
+
+        int size = tableSize(backendCount);
+        long[] offsets = new long[backendCount];
+        long[] skips = new long[backendCount];
+        long[] nexts = new long[backendCount];
+        for (int i = 0; i < backendCount; i++) {
+            byte[] key = snapshot.getHealthy(i).toString().getBytes(StandardCharsets.UTF_8);
+            offsets[i] = Long.remainderUnsigned(hash(key, 0x9E3779B97F4A7C15L), size);
+            skips[i] = Long.remainderUnsigned(hash(key, 0xC2B2AE3D27D4EB4FL), size - 1) + 1;
+        }
+
+        Backend[] slots = new Backend[size];
+        int filled = 0;
+        while (true) {
+            for (int i = 0; i < backendCount; i++) {
+                Backend backend = snapshot.getHealthy(i);
+                // Heavier backends take more turns per round and so claim more slots.
+                for (int turn = 0; turn < backend.getWeight(); turn++) {
+                    int slot;
+                    do {
+                        slot = (int) ((offsets[i] + nexts[i] * skips[i]) % size);
+                        nexts[i]++;
+                    } while (slots[slot] != null);
+
+                    slots[slot] = backend;
+                    if (++filled == size) {
+                        return slots;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int tableSize(int backendCount) {
+        long wanted = (long) backendCount * MIN_SLOTS_PER_BACKEND;
+        for (int size : TABLE_SIZES) {
+            if (size >= wanted) {
+                return size;
+            }
+        }
+        return TABLE_SIZES[TABLE_SIZES.length - 1];
+    }
+
+    private static long hash(byte[] data, long seed) {
+        long hash = seed ^ 0xcbf29ce484222325L;
+        for (byte b : data) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    @Override
+    public String getName() {
+        return "consistent-hash";
+    }
+
+    private record LookupTable(long version, BackendSnapshot snapshot, Backend[] slots) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.loadbalancer.core;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Scores each healthy backend as EWMA latency * (active connections + 1) and picks the
+// lowest. Backends without samples yet are scored with the mean of the sampled ones so
+// they neither get flooded nor starved.
+@Component
+public class LeastLatencyAlgorithm implements LoadBalancingAlgorithm {
+
+    @Override
+    public Backend selectBackend(List<Backend> backends) {
+        if (backends == null || backends.isEmpty()) {
+            return null;
+        }
+
+        return select(BackendSnapshot.of(backends));
+    }
+
+    @Override
+    public Backend select(BackendSnapshot snapshot) {
+        int healthyCount = snapshot.getHealthyCount();
+        if (healthyCount == 0) {
+            return null;
+        }
+
+        double sampledTotal = 0;
+        int sampledCount = 0;
+        for (int i = 0; i < healthyCount; i++) {
+            Backend backend = snapshot.getHealthy(i);
+            if (backend.hasLatencySamples()) {
+                sampledTotal += backend.getLatencyNanos();
+                sampledCount++;
+            }
+        }
+        double defaultLatency = sampledCount > 0 ? sampledTotal / sampledCount : 1.0;
+
+        Backend selected = null;
+        double bestScore = Double.MAX_VALUE;
+        for (int i = 0; i < healthyCount; i++) {
+            Backend backend = snapshot.getHealthy(i);
+            double latency = backend.hasLatencySamples() ? backend.getLatencyNanos() : defaultLatency;
+            double score = Math.max(latency, 1.0) * (backend.getApproximateActiveConnections() + 1)
+                    / backend.getEffectiveWeight();
+            if (score < bestScore) {
+                selected = backend;
+                bestScore = score;
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public String getName() {
+        return "least-latency";
+    }
+}
@@ -4,5 +4,14 @@ import java.util.List;
 
 public interface LoadBalancingAlgorithm {
     Backend selectBackend(List<Backend> backends);
+
+    default Backend select(BackendSnapshot snapshot) {
+        return selectBackend(snapshot.getHealthyBackends());
+    }
+
+    default Backend select(BackendSnapshot snapshot, ConnectionContext context) {
+        return select(snapshot);
+    }
+
     String getName();
 }
@@ -0,0 +1,58 @@
+package com.example.loadbalancer.core;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// Lock-free peak-EWMA: jumps straight to any sample above the current value and otherwise
+// moves toward the sample with weight 1 - exp(-dt/tau), dt being the time since the last
+// sample. Reads decay the value toward zero by exp(-dt/tau) as well, so a backend that
+// stalled once and then stopped being picked doesn't keep its peak forever: after a few tau
+// of silence it scores low enough to be tried again, and its next sample sets it straight.
+final class PeakEwma {
+
+    private final AtomicReference<Sample> last = new AtomicReference<>();
+    private volatile double decayNanos;
+
+    PeakEwma(long decayNanos) {
+        setDecayNanos(decayNanos);
+    }
+
+    void setDecayNanos(long decayNanos) {
+        if (decayNanos <= 0) {
+            throw new IllegalArgumentException("Decay time must be positive: " + decayNanos);
+        }
+        this.decayNanos = decayNanos;
+    }
+
+    void record(double value, long nowNanos) {
+        while (true) {
+            Sample current = last.get();
+            double next;
+            if (current == null || value >= current.value) {
+                next = value;
+            } else {
+                double weight = weight(current, nowNanos);
+                next = current.value * weight + value * (1 - weight);
+            }
+            if (last.compareAndSet(current, new Sample(next, nowNanos))) {
+                return;
+            }
+        }
+    }
+
+    boolean hasSamples() {
+        return last.get() != null;
+    }
+
+    double get(long nowNanos) {
+        Sample current = last.get();
+        return current == null ? 0 : current.value * weight(current, nowNanos);
+    }
+
+    private double weight(Sample sample, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - sample.stampNanos);
+        return Math.exp(-elapsed / decayNanos);
+    }
+
+    private record Sample(double value, long stampNanos) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.loadbalancer.core;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Samples two distinct healthy backends and keeps the one with fewer connections per unit
+// of effective weight. Constant time regardless of pool size, and random sampling keeps a burst of
+// accepts from piling onto the single least-loaded backend.
+@Component
+public class PowerOfTwoChoicesAlgorithm implements LoadBalancingAlgorithm {
+
+    @Override
+    public Backend selectBackend(List<Backend> backends) {
+        if (backends == null || backends.isEmpty()) {
+            return null;
+        }
+
+        return select(BackendSnapshot.of(backends));
+    }
+
+    @Override
+    public Backend select(BackendSnapshot snapshot) {
+        int healthyCount = snapshot.getHealthyCount();
+        if (healthyCount == 0) {
+            return null;
+        }
+        if (healthyCount == 1) {
+            return snapshot.getHealthy(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(healthyCount);
+        int second = random.nextInt(healthyCount - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        Backend a = snapshot.getHealthy(first);
+        Backend b = snapshot.getHealthy(second);
+        return isLessLoaded(b, a) ? b : a;
+    }
+
+    // Counts the connection about to be added, so a warming backend with no connections
+    // yet still competes on its reduced effective weight.
+    private static boolean isLessLoaded(Backend candidate, Backend other) {
+        return (candidate.getApproximateActiveConnections() + 1) / candidate.getEffectiveWeight()
+                < (other.getApproximateActiveConnections() + 1) / other.getEffectiveWeight();
+    }
+
+    @Override
+    public String getName() {
+        return "p2c";
+    }
+}
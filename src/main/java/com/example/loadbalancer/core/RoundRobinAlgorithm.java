@@ -28,6 +28,27 @@ public class RoundRobinAlgorithm implements LoadBalancingAlgorithm {
         return healthyBackends.get(index);
     }
 
+    @Override
+    public Backend select(BackendSnapshot snapshot) {
+        int healthyCount = snapshot.getHealthyCount();
+        if (healthyCount == 0) {
+            return null;
+        }
+
+        Backend first = snapshot.getHealthy(Math.floorMod(counter.getAndIncrement(), healthyCount));
+        if (SlowStart.accept(first)) {
+            return first;
+        }
+        // A warming backend passed over gives its turn to the next one in the rotation.
+        for (int i = 1; i < healthyCount; i++) {
+            Backend backend = snapshot.getHealthy(Math.floorMod(counter.getAndIncrement(), healthyCount));
+            if (SlowStart.accept(backend)) {
+                return backend;
+            }
+        }
+        return first;
+    }
+
     @Override
     public String getName() {
         return "round-robin";
@@ -0,0 +1,23 @@
+package com.example.loadbalancer.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// For algorithms that pick a backend rather than score them: letting a pick of a warming
+// backend stand with probability equal to its slow-start factor scales its share of traffic
+// the same way the scoring algorithms scale its effective weight.
+final class SlowStart {
+
+    private SlowStart() {
+    }
+
+    static boolean accept(Backend backend) {
+        double factor = backend.getSlowStartFactor();
+        return factor >= 1.0 || ThreadLocalRandom.current().nextDouble() < factor;
+    }
+
+    // Deterministic per key, so as the ramp rises the same clients move over and stay.
+    static boolean accept(Backend backend, long hash) {
+        double factor = backend.getSlowStartFactor();
+        return factor >= 1.0 || (hash >>> 11) * 0x1.0p-53 < factor;
+    }
+}
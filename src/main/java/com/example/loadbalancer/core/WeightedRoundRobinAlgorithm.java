@@ -0,0 +1,162 @@
+package com.example.loadbalancer.core;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+public class WeightedRoundRobinAlgorithm implements LoadBalancingAlgorithm {
+
+    static final int MAX_SCHEDULE_LENGTH = 1 << 16;
+
+    private final AtomicInteger counter = new AtomicInteger(0);
+    private final AtomicReference<Schedule> schedule = new AtomicReference<>(new Schedule(-1, null, new Backend[0]));
+
+    @Override
+    public Backend selectBackend(List<Backend> backends) {
+        if (backends == null || backends.isEmpty()) {
+            return null;
+        }
+
+        Backend[] healthy = backends.stream()
+                .filter(Backend::isHealthy)
+                .toArray(Backend[]::new);
+        return pick(buildSequence(healthy));
+    }
+
+    @Override
+    public Backend select(BackendSnapshot snapshot) {
+        BackendSnapshot source = snapshot.getSource();
+        return pick(scheduleFor(source).sequence, source == snapshot ? null : snapshot);
+    }
+
+    // Publishes a rebuilt schedule with a compare-and-set, and only over one for an older
+    // version, so an acceptor that read a stale snapshot uses its own schedule once instead of
+    // rolling the shared one back.
+    private Schedule scheduleFor(BackendSnapshot source) {
+        Schedule built = null;
+        while (true) {
+            Schedule current = schedule.get();
+            // Identity, not version: every BackendSnapshot.of(...) snapshot has version 0.
+            if (current.snapshot == source) {
+                return current;
+            }
+            if (built == null) {
+                built = new Schedule(source.getVersion(), source, buildSequence(healthyBackends(source)));
+            }
+            if (current.version > source.getVersion() || schedule.compareAndSet(current, built)) {
+                return built;
+            }
+        }
+    }
+
+    private Backend pick(Backend[] sequence) {
+        return pick(sequence, null);
+    }
+
+    // The schedule is built from static weights and cached, so slow start is applied per pick:
+    // a warming backend's slot is given up with probability 1 - factor. Fail-over keeps using
+    // the cached schedule too and steps past backends already tried.
+    private Backend pick(Backend[] sequence, BackendSnapshot excluding) {
+        Backend fallback = null;
+        for (int i = 0; i < sequence.length; i++) {
+            Backend backend = sequence[Math.floorMod(counter.getAndIncrement(), sequence.length)];
+            if (excluding != null && excluding.isExcluded(backend)) {
+                continue;
+            }
+            if (SlowStart.accept(backend)) {
+                return backend;
+            }
+            if (fallback == null) {
+                fallback = backend;
+            } else if (backend == fallback) {
+                // Every remaining candidate has already been passed over once.
+                break;
+            }
+        }
+        return fallback;
+    }
+
+    private static Backend[] healthyBackends(BackendSnapshot snapshot) {
+        Backend[] healthy = new Backend[snapshot.getHealthyCount()];
+        for (int i = 0; i < healthy.length; i++) {
+            healthy[i] = snapshot.getHealthy(i);
+        }
+        return healthy;
+    }
+
+    // Interleaves backends so each one is spread evenly over the cycle instead of being
+    // picked in bursts: the k-th pick of a backend with weight w is due at (2k + 1) / 2w,
+    // and picks are emitted in due order, heavier backends first on ties.
+    static Backend[] buildSequence(Backend[] backends) {
+        if (backends.length == 0) {
+            return backends;
+        }
+
+        long totalWeight = 0;
+        for (Backend backend : backends) {
+            totalWeight += backend.getWeight();
+        }
+
+        int[] weights = new int[backends.length];
+        int length = 0;
+        for (int i = 0; i < backends.length; i++) {
+            weights[i] = totalWeight > MAX_SCHEDULE_LENGTH
+                    ? (int) Math.max(1, backends[i].getWeight() * MAX_SCHEDULE_LENGTH / totalWeight)
+                    : backends[i].getWeight();
+            length += weights[i];
+        }
+
+        PriorityQueue<Slot> queue = new PriorityQueue<>(backends.length);
+        for (int i = 0; i < backends.length; i++) {
+            queue.add(new Slot(i, weights[i]));
+        }
+
+        Backend[] sequence = new Backend[length];
+        for (int position = 0; position < length; position++) {
+            Slot slot = queue.poll();
+            sequence[position] = backends[slot.index];
+            slot.picks++;
+            if (slot.picks < slot.weight) {
+                queue.add(slot);
+            }
+        }
+        return sequence;
+    }
+
+    @Override
+    public String getName() {
+        return "weighted-round-robin";
+    }
+
+    private record Schedule(long version, BackendSnapshot snapshot, Backend[] sequence) {
+    }
+
+    private static final class Slot implements Comparable<Slot> {
+
+        private final int index;
+        private final int weight;
+        private int picks;
+
+        Slot(int index, int weight) {
+            this.index = index;
+            this.weight = weight;
+        }
+
+        @Override
+        public int compareTo(Slot other) {
+            // Compare (2 * picks + 1) / weight without division.
+            int byDeadline = Long.compare(
+                    (2L * picks + 1) * other.weight,
+                    (2L * other.picks + 1) * weight);
+            if (byDeadline != 0) {
+                return byDeadline;
+            }
+            int byWeight = Integer.compare(other.weight, weight);
+            return byWeight != 0 ? byWeight : Integer.compare(index, other.index);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.loadbalancer.discovery;
+
+import com.example.loadbalancer.core.Backend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Resolves configured backend hostnames off the data path. A plain registration keeps one
+// Backend and swaps its cached address when DNS changes; an expanded registration turns each
+// A/AAAA record into its own Backend and adds or removes members as the record set moves.
+public class BackendResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackendResolver.class);
+
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService scheduler;
+
+    public void register(String host, int port, int weight, boolean expand,
+                         Consumer<Backend> onAdded, Consumer<Backend> onRemoved) {
+        Registration registration = expand
+                ? new ExpandedRegistration(host, port, weight, onAdded, onRemoved)
+                : new SingleRegistration(host, port, weight, onAdded);
+        registrations.add(registration);
+        registration.initialize();
+    }
+
+    public void start(long ttlMillis) {
+        if (registrations.stream().noneMatch(Registration::needsRefresh)) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "lb-dns-resolver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshAll, ttlMillis, ttlMillis, TimeUnit.MILLISECONDS);
+        logger.info("DNS re-resolution every {}ms", ttlMillis);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void refreshAll() {
+        for (Registration registration : registrations) {
+            if (!registration.needsRefresh()) {
+                continue;
+            }
+            try {
+                registration.refresh();
+            } catch (UnknownHostException e) {
+                logger.warn("Could not resolve backend host {}, keeping last known addresses", registration.host);
+            } catch (RuntimeException e) {
+                logger.error("Error refreshing backend host {}", registration.host, e);
+            }
+        }
+    }
+
+    // Literal IPs never change, so they need no refresh. Hostnames cannot contain ':'.
+    private static boolean isLiteral(String host) {
+        return host.indexOf(':') >= 0 || host.chars().allMatch(c -> c == '.' || Character.isDigit(c));
+    }
+
+    private abstract static class Registration {
+        final String host;
+        final int port;
+        final int weight;
+
+        Registration(String host, int port, int weight) {
+            this.host = host;
+            this.port = port;
+            this.weight = weight;
+        }
+
+        boolean needsRefresh() {
+            return !isLiteral(host);
+        }
+
+        abstract void initialize();
+
+        abstract void refresh() throws UnknownHostException;
+    }
+
+    private static final class SingleRegistration extends Registration {
+        private final Consumer<Backend> onAdded;
+        private Backend backend;
+
+        SingleRegistration(String host, int port, int weight, Consumer<Backend> onAdded) {
+            super(host, port, weight);
+            this.onAdded = onAdded;
+        }
+
+        @Override
+        void initialize() {
+            backend = new Backend(host, port, weight);
+            if (backend.getAddress().isUnresolved()) {
+                logger.warn("Could not resolve backend host {}, will retry in the background", host);
+            }
+            onAdded.accept(backend);
+        }
+
+        @Override
+        void refresh() throws UnknownHostException {
+            InetAddress resolved = InetAddress.getByName(host);
+            if (backend.updateAddress(resolved)) {
+                logger.info("Backend {} now resolves to {}", backend, resolved.getHostAddress());
+            }
+        }
+    }
+
+    private static final class ExpandedRegistration extends Registration {
+        private final Consumer<Backend> onAdded;
+        private final Consumer<Backend> onRemoved;
+        private final Map<InetAddress, Backend> members = new HashMap<>();
+
+        ExpandedRegistration(String host, int port, int weight,
+                             Consumer<Backend> onAdded, Consumer<Backend> onRemoved) {
+            super(host, port, weight);
+            this.onAdded = onAdded;
+            this.onRemoved = onRemoved;
+        }
+
+        @Override
+        void initialize() {
+            try {
+                refresh();
+            } catch (UnknownHostException e) {
+                logger.warn("Could not resolve backend host {}, will retry in the background", host);
+            }
+        }
+
+        // Only called from the registering thread during startup and then from the resolver
+        // thread, never concurrently, so members needs no locking.
+        @Override
+        void refresh() throws UnknownHostException {
+            InetAddress[] resolved = InetAddress.getAllByName(host);
+            Map<InetAddress, Backend> previous = new HashMap<>(members);
+
+            for (InetAddress address : resolved) {
+                if (previous.remove(address) == null && !members.containsKey(address)) {
+                    Backend backend = new Backend(address, port, weight);
+                    members.put(address, backend);
+                    logger.info("Backend host {} expanded to member {}", host, backend);
+                    onAdded.accept(backend);
+                }
+            }
+
+            for (Map.Entry<InetAddress, Backend> gone : previous.entrySet()) {
+                Backend backend = gone.getValue();
+                members.remove(gone.getKey());
+                logger.info("Backend host {} no longer resolves to member {}", host, backend);
+                onRemoved.accept(backend);
+            }
+        }
+    }
+}
@@ -2,81 +2,269 @@ package com.example.loadbalancer.health;
 
 import com.example.loadbalancer.core.Backend;
 import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.BackendSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
+// Probes every backend from a single selector thread: connects are non-blocking, so all due
+// probes are in flight at once and each one fails on its own deadline. A sweep over any number
+// of backends therefore takes about one timeout rather than the sum of them.
 @Component
 public class HealthChecker {
 
     private static final Logger logger = LoggerFactory.getLogger(HealthChecker.class);
+    // Each probe is rescheduled at interval +/- this fraction so checks don't fire in lockstep.
+    private static final double JITTER_FRACTION = 0.1;
+    private static final long MEMBERSHIP_SYNC_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final BackendPool backendPool;
-    private ScheduledExecutorService scheduler;
-    private int healthCheckIntervalSeconds = 5;
-    private int healthCheckTimeoutSeconds = 2;
+    private final Map<Backend, Probe> probes = new HashMap<>();
+    private final PriorityQueue<Probe> scheduled = new PriorityQueue<>(Comparator.comparingLong(p -> p.dueNanos));
+    private final ArrayDeque<Deadline> deadlines = new ArrayDeque<>();
+    private long intervalNanos;
+    private long timeoutNanos;
+    private int rise = 1;
+    private int fall = 1;
+    private Selector selector;
+    private Thread thread;
+    private volatile boolean running;
 
     public HealthChecker(BackendPool backendPool) {
         this.backendPool = backendPool;
     }
 
     public void start(int intervalSeconds, int timeoutSeconds) {
-        this.healthCheckIntervalSeconds = intervalSeconds;
-        this.healthCheckTimeoutSeconds = timeoutSeconds;
-        this.scheduler = Executors.newScheduledThreadPool(1);
-        scheduler.scheduleWithFixedDelay(
-                this::checkAllBackends,
-                0,
-                healthCheckIntervalSeconds,
-                TimeUnit.SECONDS
-        );
-        logger.info("Health checker started with interval {}s and timeout {}s", 
-                intervalSeconds, timeoutSeconds);
+        start(intervalSeconds, timeoutSeconds, 1, 1);
+    }
+
+    // A backend needs `rise` consecutive passing probes to come back and `fall` consecutive
+    // failing ones to be taken out.
+    public void start(int intervalSeconds, int timeoutSeconds, int rise, int fall) {
+        this.rise = Math.max(1, rise);
+        this.fall = Math.max(1, fall);
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(intervalSeconds);
+        this.timeoutNanos = TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        try {
+            this.selector = Selector.open();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open health check selector", e);
+        }
+        running = true;
+        thread = new Thread(this::run, "lb-health-checker");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Health checker started with interval {}s, timeout {}s, rise {} and fall {}",
+                intervalSeconds, timeoutSeconds, this.rise, this.fall);
     }
 
     public void stop() {
-        if (scheduler != null && !scheduler.isShutdown()) {
-            scheduler.shutdown();
-            try {
-                if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
-                    scheduler.shutdownNow();
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    private void run() {
+        long nextSyncNanos = 0;
+        try {
+            while (running) {
+                long now = System.nanoTime();
+                if (now - nextSyncNanos >= 0) {
+                    syncMembership(now);
+                    nextSyncNanos = now + MEMBERSHIP_SYNC_NANOS;
+                }
+
+                launchDueProbes(now);
+                expireProbes(now);
+
+                selector.select(millisUntilNextEvent(now, nextSyncNanos));
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    onConnectable((Probe) key.attachment());
                 }
-            } catch (InterruptedException e) {
-                scheduler.shutdownNow();
-                Thread.currentThread().interrupt();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Health checker stopped unexpectedly", e);
+        } finally {
+            probes.values().forEach(HealthChecker::closeChannel);
+            probes.clear();
+            scheduled.clear();
+            deadlines.clear();
+            try {
+                selector.close();
+            } catch (IOException e) {
+                logger.debug("Error closing health check selector", e);
             }
         }
     }
 
-    private void checkAllBackends() {
-        for (Backend backend : backendPool.getAllBackends()) {
-            boolean isHealthy = checkBackendHealth(backend);
-            boolean wasHealthy = backend.isHealthy();
-            backend.setHealthy(isHealthy);
+    // New backends are probed straight away and drift apart through the jittered reschedule;
+    // removed ones are dropped lazily when they next come up in the schedule.
+    private void syncMembership(long now) {
+        BackendSnapshot snapshot = backendPool.getSnapshot();
+        Map<Backend, Probe> current = new HashMap<>(snapshot.getTotalCount() * 2);
+        for (int i = 0; i < snapshot.getTotalCount(); i++) {
+            Backend backend = snapshot.getBackend(i);
+            Probe probe = probes.remove(backend);
+            if (probe == null) {
+                probe = new Probe(backend);
+                probe.dueNanos = now;
+                scheduled.add(probe);
+            }
+            current.put(backend, probe);
+        }
+        for (Probe removed : probes.values()) {
+            removed.removed = true;
+            closeChannel(removed);
+        }
+        probes.clear();
+        probes.putAll(current);
+    }
 
-            if (wasHealthy != isHealthy) {
-                if (isHealthy) {
-                    logger.info("Backend {} is now healthy", backend);
-                } else {
-                    logger.warn("Backend {} is now unhealthy", backend);
-                }
+    private void launchDueProbes(long now) {
+        while (!scheduled.isEmpty() && now - scheduled.peek().dueNanos >= 0) {
+            Probe probe = scheduled.poll();
+            if (!probe.removed) {
+                launch(probe, now);
             }
         }
     }
 
-    private boolean checkBackendHealth(Backend backend) {
-        try (SocketChannel channel = SocketChannel.open()) {
-            channel.configureBlocking(true);
-            channel.socket().setSoTimeout(healthCheckTimeoutSeconds * 1000);
-            boolean connected = channel.connect(backend.getAddress());
-            return connected;
+    private void launch(Probe probe, long now) {
+        probe.attempt++;
+        try {
+            probe.channel = SocketChannel.open();
+            probe.channel.configureBlocking(false);
+            if (probe.channel.connect(probe.backend.getAddress())) {
+                complete(probe, true);
+                return;
+            }
+            probe.channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            deadlines.addLast(new Deadline(probe, probe.attempt, now + timeoutNanos));
+        } catch (IOException | UnresolvedAddressException e) {
+            complete(probe, false);
+        }
+    }
+
+    private void onConnectable(Probe probe) {
+        try {
+            complete(probe, probe.channel.finishConnect());
         } catch (IOException e) {
-            return false;
+            complete(probe, false);
         }
     }
+
+    // Every probe gets the same timeout, so deadlines are queued in expiry order; entries for
+    // probes that already completed are simply discarded.
+    private void expireProbes(long now) {
+        while (!deadlines.isEmpty() && now - deadlines.peekFirst().deadlineNanos >= 0) {
+            Deadline deadline = deadlines.pollFirst();
+            Probe probe = deadline.probe;
+            if (probe.channel != null && probe.attempt == deadline.attempt) {
+                complete(probe, false);
+            }
+        }
+    }
+
+    private void complete(Probe probe, boolean isHealthy) {
+        closeChannel(probe);
+        if (probe.removed) {
+            return;
+        }
+
+        if (isHealthy) {
+            probe.failures = 0;
+            if (!probe.healthy && ++probe.successes >= rise) {
+                transition(probe, true);
+            }
+        } else {
+            probe.successes = 0;
+            if (probe.healthy && ++probe.failures >= fall) {
+                transition(probe, false);
+            }
+        }
+
+        double jitter = (ThreadLocalRandom.current().nextDouble() * 2 - 1) * JITTER_FRACTION;
+        probe.dueNanos = System.nanoTime() + (long) (intervalNanos * (1 + jitter));
+        scheduled.add(probe);
+    }
+
+    private void transition(Probe probe, boolean healthy) {
+        probe.healthy = healthy;
+        probe.successes = 0;
+        probe.failures = 0;
+        probe.backend.setHealthy(healthy);
+        if (healthy) {
+            logger.info("Backend {} is now healthy", probe.backend);
+        } else {
+            logger.warn("Backend {} is now unhealthy", probe.backend);
+        }
+    }
+
+    private long millisUntilNextEvent(long now, long nextSyncNanos) {
+        long next = nextSyncNanos;
+        if (!scheduled.isEmpty()) {
+            next = Math.min(next, scheduled.peek().dueNanos);
+        }
+        if (!deadlines.isEmpty()) {
+            next = Math.min(next, deadlines.peekFirst().deadlineNanos);
+        }
+        // select(0) blocks forever, so always wait at least a millisecond.
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(next - now + 999_999));
+    }
+
+    private static void closeChannel(Probe probe) {
+        if (probe.channel != null) {
+            try {
+                probe.channel.close();
+            } catch (IOException e) {
+                logger.debug("Error closing health check channel", e);
+            }
+            probe.channel = null;
+        }
+    }
+
+    private static final class Probe {
+        final Backend backend;
+        boolean healthy;
+        int successes;
+        int failures;
+        SocketChannel channel;
+        long dueNanos;
+        long attempt;
+        boolean removed;
+
+        Probe(Backend backend) {
+            this.backend = backend;
+            this.healthy = backend.isHealthy();
+        }
+    }
+
+    private record Deadline(Probe probe, long attempt, long deadlineNanos) {
+    }
 }
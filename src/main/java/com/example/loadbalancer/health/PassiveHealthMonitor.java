@@ -0,0 +1,157 @@
+package com.example.loadbalancer.health;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Ejects a backend as soon as the data plane sees N consecutive connect failures or resets,
+// instead of waiting for the next active probe. Each ejection of the same backend doubles its
+// back-off; once reinstated it is on probation and a single further failure ejects it again.
+//
+// No more than maxEjectionPercent of the pool (but always at least one backend) is ejected at
+// once. When every backend fails together the fault is usually on our side, such as a network
+// partition or exhausted local ports, and ejecting them all would only turn errors into an
+// outage. A backend that hits the threshold while the cap is full stays in rotation, one
+// failure short of the threshold, so it is ejected on its next failure once there is room.
+public class PassiveHealthMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PassiveHealthMonitor.class);
+
+    private final BackendPool pool;
+    private final int consecutiveFailures;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final int maxEjectionPercent;
+    // Guarded by this.
+    private int ejectedCount;
+    private final Map<Backend, Ejections> ejections = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public PassiveHealthMonitor(BackendPool pool, int consecutiveFailures, long baseEjectionMillis,
+                                long maxEjectionMillis, int maxEjectionPercent) {
+        this.pool = pool;
+        this.consecutiveFailures = consecutiveFailures;
+        this.baseEjectionNanos = TimeUnit.MILLISECONDS.toNanos(baseEjectionMillis);
+        this.maxEjectionNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(baseEjectionMillis, maxEjectionMillis));
+        this.maxEjectionPercent = Math.max(0, Math.min(100, maxEjectionPercent));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "lb-passive-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void onSuccess(Backend backend) {
+        backend.recordSuccess();
+    }
+
+    // Only the failure that reaches the threshold exactly ejects, so racing event loops can't
+    // eject twice and stragglers from connects already in flight don't extend the back-off.
+    public void onFailure(Backend backend) {
+        if (consecutiveFailures > 0 && backend.recordFailure() == consecutiveFailures) {
+            eject(backend);
+        }
+    }
+
+    // Called once a backend has left the pool, e.g. a DNS member that went away: drops its
+    // history, cancels a pending reinstatement and frees its ejection slot.
+    public void forget(Backend backend) {
+        Ejections history = ejections.remove(backend);
+        if (history == null) {
+            return;
+        }
+        ScheduledFuture<?> pending;
+        synchronized (history) {
+            pending = history.reinstatement;
+            history.reinstatement = null;
+        }
+        if (pending != null) {
+            pending.cancel(false);
+            releaseEjection();
+        }
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void eject(Backend backend) {
+        // Late failures from connections to a removed backend must not recreate its history.
+        if (!pool.contains(backend)) {
+            return;
+        }
+        if (!reserveEjection()) {
+            backend.setConsecutiveFailures(consecutiveFailures - 1);
+            logger.warn("Not ejecting backend {} after {} consecutive failures: {}% of backends already ejected",
+                    backend, consecutiveFailures, maxEjectionPercent);
+            return;
+        }
+
+        Ejections history = ejections.computeIfAbsent(backend, b -> new Ejections());
+        long backoffNanos;
+        synchronized (history) {
+            // A backend that stayed in for longer than the longest back-off starts over.
+            if (history.count > 0 && System.nanoTime() - history.reinstatedNanos > maxEjectionNanos) {
+                history.count = 0;
+            }
+            backoffNanos = Math.min(maxEjectionNanos, baseEjectionNanos << Math.min(history.count, 30));
+            history.count++;
+        }
+
+        backend.setEjected(true);
+        logger.warn("Ejected backend {} after {} consecutive failures for {}ms",
+                backend, consecutiveFailures, TimeUnit.NANOSECONDS.toMillis(backoffNanos));
+        synchronized (history) {
+            history.reinstatement = scheduler.schedule(
+                    () -> reinstate(backend, history), backoffNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private synchronized boolean reserveEjection() {
+        int allowed = Math.max(1, pool.getTotalBackends() * maxEjectionPercent / 100);
+        if (ejectedCount >= allowed) {
+            return false;
+        }
+        ejectedCount++;
+        return true;
+    }
+
+    private synchronized void releaseEjection() {
+        ejectedCount--;
+    }
+
+    private void reinstate(Backend backend, Ejections history) {
+        synchronized (history) {
+            if (history.reinstatement == null) {
+                // Forgotten, which already freed the slot.
+                return;
+            }
+            history.reinstatement = null;
+            history.reinstatedNanos = System.nanoTime();
+        }
+        if (!pool.contains(backend)) {
+            // Removed before forget() could see the reinstatement; clean up here instead.
+            ejections.remove(backend, history);
+            releaseEjection();
+            return;
+        }
+        backend.setConsecutiveFailures(consecutiveFailures - 1);
+        backend.setEjected(false);
+        releaseEjection();
+        logger.info("Reinstated backend {}", backend);
+    }
+
+    private static final class Ejections {
+        int count;
+        long reinstatedNanos;
+        ScheduledFuture<?> reinstatement;
+    }
+}
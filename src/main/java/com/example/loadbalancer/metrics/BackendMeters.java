@@ -0,0 +1,93 @@
+package com.example.loadbalancer.metrics;
+
+import com.example.loadbalancer.core.BackendStats;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The meters one backend's traffic is recorded into; every record also rolls up into the
+// load balancer-wide totals. Handlers look this up once per connection and then only touch
+// the striped BackendStats (the backend's own, so its counters share the event loop's stripe
+// with its connection count) and timers, so recording never allocates or contends on a
+// single cache line.
+public final class BackendMeters {
+
+    final BackendStats stats;
+    private final BackendMeters total;
+    private final Timer connectTime;
+    private final Timer connectionDuration;
+    private final List<Meter> meters;
+
+    BackendMeters(BackendStats stats, BackendMeters total, Timer connectTime, Timer connectionDuration,
+                  List<Meter> meters) {
+        this.stats = stats;
+        this.total = total;
+        this.connectTime = connectTime;
+        this.connectionDuration = connectionDuration;
+        this.meters = meters;
+    }
+
+    public void recordBytesToBackend(long bytes) {
+        stats.add(BackendStats.BYTES_TO_BACKEND, bytes);
+        if (total != null) {
+            total.recordBytesToBackend(bytes);
+        }
+    }
+
+    public void recordBytesFromBackend(long bytes) {
+        stats.add(BackendStats.BYTES_FROM_BACKEND, bytes);
+        if (total != null) {
+            total.recordBytesFromBackend(bytes);
+        }
+    }
+
+    public void recordAccepted() {
+        stats.increment(BackendStats.ACCEPTED);
+        if (total != null) {
+            total.recordAccepted();
+        }
+    }
+
+    public void recordConnectFailure() {
+        stats.increment(BackendStats.CONNECT_FAILURES);
+        if (total != null) {
+            total.recordConnectFailure();
+        }
+    }
+
+    public void recordConnectTime(long nanos) {
+        connectTime.record(nanos, TimeUnit.NANOSECONDS);
+        if (total != null) {
+            total.recordConnectTime(nanos);
+        }
+    }
+
+    public void recordConnectionDuration(long nanos) {
+        connectionDuration.record(nanos, TimeUnit.NANOSECONDS);
+        if (total != null) {
+            total.recordConnectionDuration(nanos);
+        }
+    }
+
+    public long getBytesToBackend() {
+        return stats.sum(BackendStats.BYTES_TO_BACKEND);
+    }
+
+    public long getBytesFromBackend() {
+        return stats.sum(BackendStats.BYTES_FROM_BACKEND);
+    }
+
+    public long getAccepted() {
+        return stats.sum(BackendStats.ACCEPTED);
+    }
+
+    public long getConnectFailures() {
+        return stats.sum(BackendStats.CONNECT_FAILURES);
+    }
+
+    List<Meter> getMeters() {
+        return meters;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.loadbalancer.metrics;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.BackendStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Publishes load balancer traffic to Micrometer. Counters are FunctionCounters over striped
+// counters that the data plane bumps directly; the registry only reads them when it is scraped.
+@Component
+public class LoadBalancerMetrics {
+
+    private static final String PREFIX = "loadbalancer.";
+    private static final String BACKEND_PREFIX = "loadbalancer.backend.";
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final MeterRegistry registry;
+    private final BackendMeters total;
+    private final LongAdder rejected = new LongAdder();
+    private final Timer admissionWait;
+    private final Map<Backend, BackendMeters> backends = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LoadBalancerMetrics(MeterRegistry registry, BackendPool backendPool) {
+        this.registry = registry;
+        this.total = register(PREFIX, Tags.empty(), null);
+
+        FunctionCounter.builder(PREFIX + "connections.rejected", rejected, LongAdder::sum)
+                .description("Client connections closed because no backend could take them")
+                .register(registry);
+        Gauge.builder(PREFIX + "connections.active", backendPool, LoadBalancerMetrics::activeConnections)
+                .description("Client connections currently being forwarded")
+                .register(registry);
+        Gauge.builder(PREFIX + "backends.healthy", backendPool, BackendPool::getHealthyBackendsCount)
+                .register(registry);
+        Gauge.builder(PREFIX + "backends.total", backendPool, BackendPool::getTotalBackends)
+                .register(registry);
+        admissionWait = Timer.builder(PREFIX + "admission.wait")
+                .description("Time a client spent in the admission queue before being routed")
+                .publishPercentiles(PERCENTILES)
+                .register(registry);
+    }
+
+    // For servers built outside Spring, e.g. in tests and benchmarks.
+    public LoadBalancerMetrics(BackendPool backendPool) {
+        this(new SimpleMeterRegistry(), backendPool);
+    }
+
+    public BackendMeters forBackend(Backend backend) {
+        BackendMeters meters = backends.get(backend);
+        if (meters != null) {
+            return meters;
+        }
+        return backends.computeIfAbsent(backend, b -> register(BACKEND_PREFIX, Tags.of("backend", b.toString()), b));
+    }
+
+    public void remove(Backend backend) {
+        BackendMeters meters = backends.remove(backend);
+        if (meters != null) {
+            meters.getMeters().forEach(registry::remove);
+        }
+    }
+
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    public void recordAdmissionWait(long nanos) {
+        admissionWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void bindAdmissionQueue(Supplier<Number> waiting) {
+        Gauge.builder(PREFIX + "admission.waiting", waiting)
+                .description("Clients waiting in the admission queue for a free connection slot")
+                .register(registry);
+    }
+
+    public BackendMeters getTotal() {
+        return total;
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    private BackendMeters register(String prefix, Tags tags, Backend backend) {
+        List<Meter> meters = new ArrayList<>();
+        Timer connectTime = Timer.builder(prefix + "connect.time")
+                .description("Time to establish the backend connection")
+                .tags(tags)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(registry);
+        Timer connectionDuration = Timer.builder(prefix + "connection.duration")
+                .description("Lifetime of a proxied connection, from accept to close")
+                .tags(tags)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(registry);
+        meters.add(connectTime);
+        meters.add(connectionDuration);
+
+        BackendStats stats = backend != null ? backend.getStats() : new BackendStats();
+        BackendMeters backendMeters = new BackendMeters(
+                stats, backend != null ? total : null, connectTime, connectionDuration, meters);
+        meters.add(FunctionCounter.builder(prefix + "bytes", stats, s -> s.sum(BackendStats.BYTES_TO_BACKEND))
+                .description("Bytes forwarded")
+                .baseUnit("bytes")
+                .tags(tags.and("direction", "to_backend"))
+                .register(registry));
+        meters.add(FunctionCounter.builder(prefix + "bytes", stats, s -> s.sum(BackendStats.BYTES_FROM_BACKEND))
+                .description("Bytes forwarded")
+                .baseUnit("bytes")
+                .tags(tags.and("direction", "from_backend"))
+                .register(registry));
+        meters.add(FunctionCounter.builder(prefix + "connections.accepted", stats, s -> s.sum(BackendStats.ACCEPTED))
+                .description("Client connections routed")
+                .tags(tags)
+                .register(registry));
+        meters.add(FunctionCounter.builder(prefix + "connect.failures", stats, s -> s.sum(BackendStats.CONNECT_FAILURES))
+                .description("Backend connects that were refused, failed or timed out")
+                .tags(tags)
+                .register(registry));
+        if (backend != null) {
+            meters.add(Gauge.builder(prefix + "connections.active", backend, Backend::getActiveConnections)
+                    .tags(tags)
+                    .register(registry));
+            meters.add(Gauge.builder(prefix + "healthy", backend, b -> b.isHealthy() ? 1 : 0)
+                    .tags(tags)
+                    .register(registry));
+            meters.add(Gauge.builder(prefix + "connections.limit", backend, Backend::getConnectionLimit)
+                    .description("Effective connection limit, static or adaptive; 0 means unlimited")
+                    .tags(tags)
+                    .register(registry));
+        }
+        return backendMeters;
+    }
+
+    private static double activeConnections(BackendPool backendPool) {
+        int active = 0;
+        for (Backend backend : backendPool.getAllBackends()) {
+            active += backend.getActiveConnections();
+        }
+        return active;
+    }
+}
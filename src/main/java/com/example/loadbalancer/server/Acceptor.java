@@ -0,0 +1,112 @@
+package com.example.loadbalancer.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+// Drains one listening socket on its own thread and hands each client to a worker. With
+// SO_REUSEPORT there is one acceptor per event loop, each pinned to that loop.
+class Acceptor implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(Acceptor.class);
+    private static final int MAX_ACCEPTS_PER_WAKEUP = 64;
+
+    private final ServerSocketChannel serverChannel;
+    private final EventLoop eventLoop;
+    private final BiConsumer<SocketChannel, EventLoop> onAccept;
+    private final Selector selector;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    Acceptor(int index, ServerSocketChannel serverChannel, EventLoop eventLoop,
+             BiConsumer<SocketChannel, EventLoop> onAccept) throws IOException {
+        this.serverChannel = serverChannel;
+        this.eventLoop = eventLoop;
+        this.onAccept = onAccept;
+        this.selector = Selector.open();
+        this.thread = new Thread(this, "lb-acceptor-" + index);
+
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    int getLocalPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                int readyChannels = selector.select(1000);
+                if (readyChannels == 0) {
+                    continue;
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    if (key.isValid() && key.isAcceptable()) {
+                        acceptPending();
+                    }
+                }
+            } catch (IOException e) {
+                if (running) {
+                    logger.error("Error in accept loop", e);
+                }
+            }
+        }
+    }
+
+    private void acceptPending() {
+        for (int i = 0; i < MAX_ACCEPTS_PER_WAKEUP; i++) {
+            SocketChannel clientChannel;
+            try {
+                clientChannel = serverChannel.accept();
+            } catch (IOException e) {
+                logger.error("Error accepting connection", e);
+                return;
+            }
+
+            if (clientChannel == null) {
+                return;
+            }
+            onAccept.accept(clientChannel, eventLoop);
+        }
+    }
+
+    void stop(long timeout, TimeUnit unit) {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(unit.toMillis(timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            selector.close();
+        } catch (IOException e) {
+            logger.error("Error closing selector", e);
+        }
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            logger.error("Error closing server channel", e);
+        }
+    }
+}
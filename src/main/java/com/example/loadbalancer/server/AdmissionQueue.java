@@ -0,0 +1,242 @@
+package com.example.loadbalancer.server;
+
+import com.example.loadbalancer.core.ConnectionContext;
+import com.example.loadbalancer.metrics.LoadBalancerMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Caps concurrent connections globally and parks clients that arrive while no slot (global or
+// on any backend) is free. Waiters are admitted in arrival order whenever a connection closes;
+// once the queue is full, or a waiter's deadline passes, the client is reset straight away.
+// Overload therefore shows up as bounded wait plus fast, counted rejections rather than
+// connections that sit accepted but unserviced.
+final class AdmissionQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionQueue.class);
+    // Waiters are also retried this often, to pick up backends that recover or join.
+    private static final long RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    interface Starter {
+        // Starts forwarding for the client if a slot and a backend with room are free.
+        boolean tryStart(SocketChannel client, ConnectionContext context, EventLoop eventLoop);
+    }
+
+    private final int maxConnections;
+    private final int capacity;
+    private final long timeoutNanos;
+    private final LoadBalancerMetrics metrics;
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean drainRequested;
+    private Starter starter;
+    private WheelTimer timer;
+    private volatile int waiting;
+    private boolean timerArmed;
+    private boolean stopped;
+
+    AdmissionQueue(int maxConnections, int capacity, long timeoutMillis, LoadBalancerMetrics metrics) {
+        this.maxConnections = Math.max(0, maxConnections);
+        this.capacity = Math.max(0, capacity);
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.metrics = metrics;
+        metrics.bindAdmissionQueue(() -> waiting);
+    }
+
+    void start(Starter starter) {
+        this.starter = starter;
+        if (capacity > 0) {
+            timer = new WheelTimer("lb-admission");
+            timer.start();
+        }
+    }
+
+    void stop() {
+        if (timer != null) {
+            timer.stop();
+        }
+        List<Waiter> dropped;
+        synchronized (this) {
+            stopped = true;
+            dropped = new ArrayList<>(waiters);
+            waiters.clear();
+            waiting = 0;
+        }
+        dropped.forEach(waiter -> closeQuietly(waiter.client));
+    }
+
+    // Without a global limit nothing is counted, so opens and closes never share this line.
+    boolean tryAcquire() {
+        if (maxConnections == 0) {
+            return true;
+        }
+        int current;
+        do {
+            current = admitted.get();
+            if (current >= maxConnections) {
+                return false;
+            }
+        } while (!admitted.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    // Undoes a tryAcquire whose client could not be routed after all. Unlike release() it does
+    // not drain, since nothing new has freed up.
+    void cancelAcquire() {
+        if (maxConnections > 0) {
+            admitted.decrementAndGet();
+        }
+    }
+
+    // Gives a slot back and hands any freed capacity to the longest waiter.
+    void release() {
+        if (maxConnections > 0) {
+            admitted.decrementAndGet();
+        }
+        if (waiting > 0) {
+            drain();
+        }
+    }
+
+    // Newcomers queue behind existing waiters rather than overtaking them.
+    boolean hasWaiters() {
+        return waiting > 0;
+    }
+
+    // Parks a client that could not be admitted, or resets it if the queue is full.
+    void enqueue(SocketChannel client, ConnectionContext context, EventLoop eventLoop) {
+        boolean queued = false;
+        boolean arm = false;
+        synchronized (this) {
+            if (waiters.size() < capacity) {
+                long now = System.nanoTime();
+                waiters.addLast(new Waiter(client, context, eventLoop, now, now + timeoutNanos));
+                waiting = waiters.size();
+                queued = true;
+                arm = !timerArmed;
+                timerArmed = true;
+            }
+        }
+        if (!queued) {
+            logger.warn("Admission queue full, resetting client connection");
+            reject(client);
+            return;
+        }
+        if (arm) {
+            timer.execute(this::onTimer);
+        }
+        // A slot may have been released between the failed admission and the enqueue.
+        drain();
+    }
+
+    // One thread drains at a time, so waiters still start in arrival order even though
+    // tryStart runs outside the queue lock; a drain requested meanwhile is picked up by the
+    // thread already draining before it lets go.
+    private void drain() {
+        drainRequested = true;
+        while (drainRequested && draining.compareAndSet(false, true)) {
+            try {
+                drainRequested = false;
+                drainWaiters();
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    // Admits waiters in order until one does not fit, resetting any whose deadline passed. Only
+    // the dequeue and a put-back take the lock; routing the client happens outside it.
+    private void drainWaiters() {
+        int expired = 0;
+        while (true) {
+            Waiter head;
+            synchronized (this) {
+                head = waiters.pollFirst();
+                if (head == null) {
+                    waiting = 0;
+                    break;
+                }
+            }
+            long now = System.nanoTime();
+            if (now - head.deadlineNanos >= 0) {
+                expired++;
+                reject(head.client);
+            } else if (starter.tryStart(head.client, head.context, head.eventLoop)) {
+                metrics.recordAdmissionWait(now - head.queuedNanos);
+            } else {
+                boolean requeued;
+                boolean arm = false;
+                synchronized (this) {
+                    requeued = !stopped;
+                    if (requeued) {
+                        waiters.addFirst(head);
+                        // The timer may have found the queue empty while this waiter was out.
+                        arm = !timerArmed;
+                        timerArmed = true;
+                    }
+                }
+                if (!requeued) {
+                    closeQuietly(head.client);
+                } else if (arm) {
+                    timer.execute(this::onTimer);
+                }
+                break;
+            }
+            synchronized (this) {
+                waiting = waiters.size();
+            }
+        }
+        if (expired > 0) {
+            logger.warn("Reset {} client connection(s) that waited {}ms without a free backend",
+                    expired, TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+        }
+    }
+
+    // Timer thread: expires and retries waiters, re-arming while any remain.
+    private void onTimer() {
+        drain();
+        synchronized (this) {
+            Waiter head = waiters.peekFirst();
+            if (head == null) {
+                timerArmed = false;
+                return;
+            }
+            long delay = Math.min(RETRY_NANOS, head.deadlineNanos - System.nanoTime());
+            timer.schedule(this::onTimer, Math.max(0, delay), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // SO_LINGER 0 makes close() send RST, so the client fails at once instead of waiting on
+    // a FIN handshake, and no TIME_WAIT is left behind on our side.
+    private void reject(SocketChannel client) {
+        metrics.recordRejected();
+        try {
+            client.setOption(StandardSocketOptions.SO_LINGER, 0);
+        } catch (IOException e) {
+            logger.debug("Could not set SO_LINGER on rejected client: {}", e.getMessage());
+        }
+        closeQuietly(client);
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.debug("Error closing channel", e);
+        }
+    }
+
+    private record Waiter(SocketChannel client, ConnectionContext context, EventLoop eventLoop,
+                          long queuedNanos, long deadlineNanos) {
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.loadbalancer.server;
+
+import com.example.loadbalancer.core.Backend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Keeps pre-connected, idle backend sockets so a new client can be spliced onto one without
+// paying for the backend handshake. A refill thread tops each pool up in the background;
+// the accept path only ever polls a deque.
+//
+// Only client-first protocols can be prewarmed: an idle socket is checked with a 1-byte read,
+// and a backend that speaks first (SMTP, MySQL, FTP greetings) would have that greeting
+// consumed. Such a backend is detected the first time an idle socket has data on it and its
+// pool is switched off for good, so its clients connect directly and see the greeting.
+public class BackendConnectionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackendConnectionPool.class);
+    private static final int QUIET = 0;
+    private static final int CLOSED = 1;
+    private static final int SPOKE = 2;
+    private static final ThreadLocal<ByteBuffer> PROBE_BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocate(1));
+
+    private final int minIdle;
+    private final int maxIdle;
+    private final long maxIdleAgeNanos;
+    private final int connectTimeoutMillis;
+    private final Map<Backend, IdlePool> pools = new ConcurrentHashMap<>();
+    private ScheduledExecutorService refiller;
+
+    public BackendConnectionPool(int minIdle, int maxIdle, long maxIdleAgeMillis, int connectTimeoutMillis) {
+        this.minIdle = minIdle;
+        this.maxIdle = Math.max(minIdle, maxIdle);
+        this.maxIdleAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxIdleAgeMillis);
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    public void register(Backend backend) {
+        pools.putIfAbsent(backend, new IdlePool());
+    }
+
+    public void unregister(Backend backend) {
+        IdlePool pool = pools.remove(backend);
+        if (pool != null) {
+            pool.closeAll();
+        }
+    }
+
+    public void start(long refillIntervalMillis) {
+        refiller = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "lb-warm-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refiller.scheduleWithFixedDelay(this::refillAll, 0, refillIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (refiller != null) {
+            refiller.shutdownNow();
+        }
+        pools.values().forEach(IdlePool::closeAll);
+    }
+
+    // Returns a live, non-blocking channel or null when nothing warm is available.
+    public SocketChannel acquire(Backend backend) {
+        IdlePool pool = pools.get(backend);
+        if (pool == null || pool.serverFirst.get()) {
+            return null;
+        }
+
+        IdleConnection idle;
+        while ((idle = pool.connections.pollFirst()) != null) {
+            int state = probe(idle);
+            if (state == QUIET) {
+                refillSoon(backend, pool);
+                return idle.channel;
+            }
+            closeQuietly(idle.channel);
+            if (state == SPOKE) {
+                disableServerFirst(backend, pool);
+                return null;
+            }
+        }
+
+        pool.misses.incrementAndGet();
+        refillSoon(backend, pool);
+        return null;
+    }
+
+    // True once the backend was seen speaking first and its pool was switched off.
+    public boolean isDisabled(Backend backend) {
+        IdlePool pool = pools.get(backend);
+        return pool != null && pool.serverFirst.get();
+    }
+
+    public int getIdleCount(Backend backend) {
+        IdlePool pool = pools.get(backend);
+        return pool != null ? pool.connections.size() : 0;
+    }
+
+    private void refillSoon(Backend backend, IdlePool pool) {
+        ScheduledExecutorService executor = refiller;
+        if (executor != null && pool.connections.size() < minIdle && pool.refillQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                pool.refillQueued.set(false);
+                refill(backend, pool);
+            });
+        }
+    }
+
+    private void refillAll() {
+        pools.forEach(this::refill);
+    }
+
+    private void refill(Backend backend, IdlePool pool) {
+        if (pool.serverFirst.get()) {
+            return;
+        }
+        // Take each connection out before probing it so an acquirer can never receive a
+        // channel this thread is still reading from.
+        long now = System.nanoTime();
+        for (IdleConnection idle : new ArrayList<>(pool.connections)) {
+            if (!pool.connections.remove(idle)) {
+                continue;
+            }
+            int state = now - idle.createdNanos > maxIdleAgeNanos ? CLOSED : probe(idle);
+            if (state == QUIET) {
+                pool.connections.addLast(idle);
+                continue;
+            }
+            closeQuietly(idle.channel);
+            if (state == SPOKE) {
+                disableServerFirst(backend, pool);
+                return;
+            }
+        }
+
+        if (!backend.isHealthy()) {
+            return;
+        }
+
+        // Clients that found the pool empty since the last pass raise the target towards maxIdle.
+        int target = Math.min(maxIdle, minIdle + pool.misses.getAndSet(0));
+        while (pool.connections.size() < target) {
+            SocketChannel channel = null;
+            try {
+                channel = SocketChannel.open();
+                channel.socket().connect(backend.getAddress(), connectTimeoutMillis);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.configureBlocking(false);
+                pool.connections.addFirst(new IdleConnection(channel, System.nanoTime()));
+            } catch (IOException e) {
+                closeQuietly(channel);
+                logger.debug("Could not pre-connect to backend {}: {}", backend, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    // A quiet, open connection reads 0 bytes. EOF or an error means it is dead; data means
+    // the backend speaks first, and the byte read here is gone.
+    private static int probe(IdleConnection idle) {
+        if (!idle.channel.isOpen()) {
+            return CLOSED;
+        }
+        ByteBuffer probe = PROBE_BUFFER.get();
+        probe.clear();
+        try {
+            int read = idle.channel.read(probe);
+            return read == 0 ? QUIET : read < 0 ? CLOSED : SPOKE;
+        } catch (IOException e) {
+            return CLOSED;
+        }
+    }
+
+    // Drains the pool before raising the flag, so anyone who sees it disabled also sees it empty.
+    // Only the refill thread adds connections and it stops at the first SPOKE, so nothing refills
+    // the pool in between.
+    private void disableServerFirst(Backend backend, IdlePool pool) {
+        pool.closeAll();
+        if (pool.serverFirst.compareAndSet(false, true)) {
+            logger.warn("Backend {} sent data on an idle pre-connected socket; prewarm only works for "
+                    + "protocols where the client speaks first, so its warm pool is disabled", backend);
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Error closing idle channel", e);
+            }
+        }
+    }
+
+    private static final class IdlePool {
+
+        private final ConcurrentLinkedDeque<IdleConnection> connections = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger misses = new AtomicInteger(0);
+        private final AtomicBoolean refillQueued = new AtomicBoolean(false);
+        private final AtomicBoolean serverFirst = new AtomicBoolean(false);
+
+        void closeAll() {
+            IdleConnection idle;
+            while ((idle = connections.pollFirst()) != null) {
+                closeQuietly(idle.channel);
+            }
+        }
+    }
+
+    private record IdleConnection(SocketChannel channel, long createdNanos) {
+    }
+}
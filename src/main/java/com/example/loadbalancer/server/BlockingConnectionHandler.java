@@ -0,0 +1,286 @@
+package com.example.loadbalancer.server;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.ConnectionContext;
+import com.example.loadbalancer.health.PassiveHealthMonitor;
+import com.example.loadbalancer.metrics.BackendMeters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Blocking counterpart of ConnectionHandler, meant to run on virtual threads where a
+// parked read costs no carrier thread.
+class BlockingConnectionHandler implements Runnable, Connection {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlockingConnectionHandler.class);
+
+    private final SocketChannel clientChannel;
+    private final ConnectionContext context;
+    private final ThreadFactory threadFactory;
+    private final HandlerContext handlerContext;
+    private final PassiveHealthMonitor healthMonitor;
+    private final Runnable onClose;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final long acceptedNanos = System.nanoTime();
+    private volatile Backend backend;
+    private volatile BackendMeters meters;
+    private volatile SocketChannel backendChannel;
+    private volatile long firstByteTimerStartNanos;
+    // Each is written only by the thread forwarding that direction.
+    private volatile long bytesToBackend;
+    private volatile long bytesFromBackend;
+    private volatile long lastClientActivityNanos;
+    private volatile long lastBackendActivityNanos;
+    private volatile boolean clientDone;
+    private volatile boolean backendDone;
+    // Timer thread only.
+    private TimingWheel.Timeout idleTimeout;
+
+    public BlockingConnectionHandler(SocketChannel clientChannel, ConnectionContext context, Backend backend,
+                                     ThreadFactory threadFactory, HandlerContext handlerContext,
+                                     Runnable onClose) {
+        this.clientChannel = clientChannel;
+        this.context = context;
+        this.backend = backend;
+        this.threadFactory = threadFactory;
+        this.handlerContext = handlerContext;
+        this.healthMonitor = handlerContext.getHealthMonitor();
+        this.meters = handlerContext.getMetrics().forBackend(backend);
+        this.onClose = onClose;
+    }
+
+    @Override
+    public void run() {
+        try {
+            clientChannel.configureBlocking(true);
+            clientChannel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            WheelTimer timer = handlerContext.getTimer();
+            if (timer != null) {
+                lastClientActivityNanos = acceptedNanos;
+                lastBackendActivityNanos = acceptedNanos;
+                timer.execute(this::checkTimeouts);
+            }
+            SocketChannel channel = connect();
+            if (channel == null) {
+                return;
+            }
+            // The timer or a shutdown sweep may have closed the handler while connect() blocked,
+            // seeing no backend channel to close; publish it under close()'s lock or close it here.
+            synchronized (closed) {
+                if (closed.get()) {
+                    closeChannel(channel);
+                    return;
+                }
+                backendChannel = channel;
+            }
+
+            Thread backendToClient = threadFactory.newThread(
+                    () -> forward(backendChannel, clientChannel, "backend->client"));
+            backendToClient.start();
+
+            forward(clientChannel, backendChannel, "client->backend");
+            backendToClient.join();
+
+        } catch (IOException e) {
+            if (!closed.get()) {
+                logger.error("Error establishing connection to backend {}", backend, e);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Connection handler interrupted");
+        } finally {
+            close();
+        }
+    }
+
+    // Same fail-over as ConnectionHandler: each failed or timed-out connect moves the client
+    // to another backend until the attempts run out.
+    private SocketChannel connect() throws IOException {
+        BackendConnectionPool warmPool = handlerContext.getWarmPool();
+        List<Backend> failedBackends = new ArrayList<>(2);
+        while (!closed.get()) {
+            SocketChannel warmChannel = warmPool != null ? warmPool.acquire(backend) : null;
+            if (warmChannel != null) {
+                warmChannel.configureBlocking(true);
+                firstByteTimerStartNanos = System.nanoTime();
+                FlightRecorderEvents.backendConnected(backend, 0, true);
+                return warmChannel;
+            }
+
+            long connectStartNanos = System.nanoTime();
+            SocketChannel channel = SocketChannel.open();
+            try {
+                channel.socket().connect(backend.getAddress(), handlerContext.getConnectTimeoutMillis());
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                firstByteTimerStartNanos = System.nanoTime();
+                long connectNanos = firstByteTimerStartNanos - connectStartNanos;
+                backend.recordConnectLatency(connectNanos);
+                meters.recordConnectTime(connectNanos);
+                healthMonitor.onSuccess(backend);
+                FlightRecorderEvents.backendConnected(backend, connectNanos, false);
+                return channel;
+            } catch (IOException e) {
+                closeChannel(channel);
+                healthMonitor.onFailure(backend);
+                meters.recordConnectFailure();
+                backend.recordConnectFailure();
+                failedBackends.add(backend);
+                Backend next = failedBackends.size() < handlerContext.getConnectAttempts()
+                        ? handlerContext.failover(context, failedBackends)
+                        : null;
+                if (next == null) {
+                    throw e;
+                }
+                logger.debug("Connect to backend {} failed ({}), retrying on {}", backend, e.getMessage(), next);
+                if (!switchBackend(next)) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    // As in ConnectionHandler: close() can run on the timer or a shutdown sweep while this
+    // thread fails over, so the count moves under close()'s lock or not at all.
+    private boolean switchBackend(Backend next) {
+        synchronized (closed) {
+            if (closed.get()) {
+                next.decrementConnections();
+                return false;
+            }
+            backend.decrementConnections();
+            backend = next;
+            meters = handlerContext.getMetrics().forBackend(next);
+            return true;
+        }
+    }
+
+    // Runs on the timer thread. Closing the channels unblocks both forwarding threads.
+    private void checkTimeouts() {
+        if (closed.get()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long clientActivity = clientDone ? now : lastClientActivityNanos;
+        long backendActivity = backendDone ? now : lastBackendActivityNanos;
+        ConnectionTimeouts timeouts = handlerContext.getTimeouts();
+        long remaining = timeouts.remainingNanos(now, acceptedNanos, clientActivity, backendActivity);
+        if (remaining <= 0) {
+            logger.debug("Closing connection to backend {}: {} timeout",
+                    backend, timeouts.describeExpiry(now, acceptedNanos, clientActivity, backendActivity));
+            close();
+            return;
+        }
+        idleTimeout = handlerContext.getTimer().schedule(this::checkTimeouts, remaining, TimeUnit.NANOSECONDS);
+    }
+
+    private void cancelTimeouts() {
+        if (idleTimeout != null) {
+            idleTimeout.cancel();
+            idleTimeout = null;
+        }
+    }
+
+    private void forward(SocketChannel source, SocketChannel destination, String direction) {
+        ByteBuffer buffer = ByteBuffer.allocate(handlerContext.getBufferSize());
+        boolean fromBackend = source == backendChannel;
+        BackendMeters backendMeters = meters;
+        boolean firstBytes = true;
+        try {
+            int bytesRead;
+            while ((bytesRead = source.read(buffer)) != -1) {
+                if (fromBackend) {
+                    lastBackendActivityNanos = System.nanoTime();
+                    bytesFromBackend += bytesRead;
+                    backendMeters.recordBytesFromBackend(bytesRead);
+                } else {
+                    lastClientActivityNanos = System.nanoTime();
+                    bytesToBackend += bytesRead;
+                    backendMeters.recordBytesToBackend(bytesRead);
+                }
+                if (firstBytes) {
+                    firstBytes = false;
+                    onFirstBytes(fromBackend);
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    destination.write(buffer);
+                }
+                buffer.clear();
+                if (fromBackend) {
+                    lastClientActivityNanos = System.nanoTime();
+                } else {
+                    lastBackendActivityNanos = System.nanoTime();
+                }
+            }
+            if (fromBackend) {
+                backendDone = true;
+            } else {
+                clientDone = true;
+            }
+            destination.shutdownOutput();
+        } catch (IOException e) {
+            if (!closed.get()) {
+                logger.debug("Error forwarding data {}: {}", direction, e.getMessage());
+            }
+            close();
+        }
+    }
+
+    // Same definition as ConnectionHandler: from the client's first bytes (or the connect)
+    // until the backend's first response bytes.
+    private void onFirstBytes(boolean fromBackend) {
+        if (fromBackend) {
+            backend.recordFirstByteLatency(System.nanoTime() - firstByteTimerStartNanos);
+        } else {
+            firstByteTimerStartNanos = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (closed) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+        }
+        closeChannel(clientChannel);
+        closeChannel(backendChannel);
+        long durationNanos = System.nanoTime() - acceptedNanos;
+        FlightRecorderEvents.connectionClosed(context, backend, bytesToBackend, bytesFromBackend, durationNanos);
+        meters.recordConnectionDuration(durationNanos);
+        WheelTimer timer = handlerContext.getTimer();
+        if (timer != null) {
+            if (timer.inTimerThread()) {
+                cancelTimeouts();
+            } else {
+                timer.execute(this::cancelTimeouts);
+            }
+        }
+        onClose.run();
+    }
+
+    private void closeChannel(SocketChannel channel) {
+        if (channel != null && channel.isOpen()) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Error closing channel", e);
+            }
+        }
+    }
+
+    @Override
+    public Backend getBackend() {
+        return backend;
+    }
+}
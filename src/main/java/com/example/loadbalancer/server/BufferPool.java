@@ -0,0 +1,74 @@
+package com.example.loadbalancer.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+// Owned by a single event loop, so it needs no synchronization. Requests are rounded up
+// to a power-of-two size class; sizes above the largest class are allocated unpooled.
+public class BufferPool {
+
+    static final int MIN_SIZE_CLASS_SHIFT = 12;
+    static final int MAX_SIZE_CLASS_SHIFT = 20;
+
+    private final ArrayDeque<ByteBuffer>[] freeLists;
+    private final int maxPooledPerClass;
+    private long allocations;
+
+    @SuppressWarnings("unchecked")
+    public BufferPool(int maxPooledPerClass) {
+        this.maxPooledPerClass = maxPooledPerClass;
+        this.freeLists = new ArrayDeque[MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1];
+        for (int i = 0; i < freeLists.length; i++) {
+            freeLists[i] = new ArrayDeque<>();
+        }
+    }
+
+    public ByteBuffer acquire(int size) {
+        int sizeClass = sizeClass(size);
+        if (sizeClass < 0) {
+            allocations++;
+            return ByteBuffer.allocateDirect(size);
+        }
+
+        ByteBuffer buffer = freeLists[sizeClass].pollFirst();
+        if (buffer == null) {
+            allocations++;
+            buffer = ByteBuffer.allocateDirect(1 << (sizeClass + MIN_SIZE_CLASS_SHIFT));
+        }
+        return buffer;
+    }
+
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect()) {
+            return;
+        }
+
+        int sizeClass = sizeClass(buffer.capacity());
+        if (sizeClass < 0 || buffer.capacity() != 1 << (sizeClass + MIN_SIZE_CLASS_SHIFT)) {
+            return;
+        }
+
+        ArrayDeque<ByteBuffer> freeList = freeLists[sizeClass];
+        if (freeList.size() < maxPooledPerClass) {
+            buffer.clear();
+            freeList.addFirst(buffer);
+        }
+    }
+
+    public int getPooledCount() {
+        int count = 0;
+        for (ArrayDeque<ByteBuffer> freeList : freeLists) {
+            count += freeList.size();
+        }
+        return count;
+    }
+
+    public long getAllocationCount() {
+        return allocations;
+    }
+
+    static int sizeClass(int size) {
+        int shift = Math.max(MIN_SIZE_CLASS_SHIFT, 32 - Integer.numberOfLeadingZeros(Math.max(size, 1) - 1));
+        return shift > MAX_SIZE_CLASS_SHIFT ? -1 : shift - MIN_SIZE_CLASS_SHIFT;
+    }
+}
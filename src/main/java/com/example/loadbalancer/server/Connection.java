@@ -0,0 +1,8 @@
+package com.example.loadbalancer.server;
+
+import com.example.loadbalancer.core.Backend;
+
+interface Connection {
+    void close();
+    Backend getBackend();
+}
@@ -1,90 +1,297 @@
 package com.example.loadbalancer.server;
 
 import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.ConnectionContext;
+import com.example.loadbalancer.health.PassiveHealthMonitor;
+import com.example.loadbalancer.metrics.BackendMeters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
-import java.util.function.Consumer;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-class ConnectionHandler implements Runnable {
+class ConnectionHandler implements EventHandler, Connection {
 
     private static final Logger logger = LoggerFactory.getLogger(ConnectionHandler.class);
-    private static final int BUFFER_SIZE = 8192;
 
     private final SocketChannel clientChannel;
-    private final Backend backend;
-    private final Consumer<SocketChannel> onClose;
+    private final ConnectionContext context;
+    private final EventLoop eventLoop;
+    private final HandlerContext handlerContext;
+    private final PassiveHealthMonitor healthMonitor;
+    private final Runnable onClose;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final List<Backend> failedBackends = new ArrayList<>(2);
+    private final long acceptedNanos = System.nanoTime();
+    private volatile Backend backend;
+    private BackendMeters meters;
     private SocketChannel backendChannel;
-    private volatile boolean running = true;
+    private SelectionKey clientKey;
+    private SelectionKey backendKey;
+    private TimingWheel.Timeout connectTimeout;
+    private TimingWheel.Timeout idleTimeout;
+    private Direction clientToBackend;
+    private Direction backendToClient;
+    private boolean connected;
+    private boolean warm;
+    private long connectStartNanos;
+    private long firstByteTimerStartNanos;
+    private boolean requestSeen;
+    private boolean firstByteRecorded;
+    private long bytesToBackend;
+    private long bytesFromBackend;
+    private long lastClientActivityNanos;
+    private long lastBackendActivityNanos;
 
-    public ConnectionHandler(SocketChannel clientChannel, Backend backend, Consumer<SocketChannel> onClose) {
+    public ConnectionHandler(SocketChannel clientChannel, ConnectionContext context, Backend backend,
+                             EventLoop eventLoop, HandlerContext handlerContext, Runnable onClose) {
         this.clientChannel = clientChannel;
+        this.context = context;
         this.backend = backend;
+        this.eventLoop = eventLoop;
+        this.handlerContext = handlerContext;
+        this.healthMonitor = handlerContext.getHealthMonitor();
+        this.meters = handlerContext.getMetrics().forBackend(backend);
         this.onClose = onClose;
     }
 
-    @Override
-    public void run() {
+    void start() {
         try {
-            backendChannel = SocketChannel.open(backend.getAddress());
+            clientChannel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        } catch (IOException e) {
+            logger.debug("Error configuring client channel: {}", e.getMessage());
+            close();
+            return;
+        }
+        if (handlerContext.getTimeouts().isEnabled()) {
+            lastClientActivityNanos = acceptedNanos;
+            lastBackendActivityNanos = acceptedNanos;
+            checkTimeouts();
+        }
+        connect();
+    }
+
+    // One timer per connection: reads and writes only stamp the time, and the timer re-arms itself for
+    // whatever is left until the nearest idle or lifetime deadline.
+    private void checkTimeouts() {
+        if (closed.get()) {
+            return;
+        }
+        long now = eventLoop.nanoTime();
+        long clientActivity = clientToBackend != null && clientToBackend.endOfStream ? now : lastClientActivityNanos;
+        long backendActivity = backendToClient != null && backendToClient.endOfStream ? now : lastBackendActivityNanos;
+        ConnectionTimeouts timeouts = handlerContext.getTimeouts();
+        long remaining = timeouts.remainingNanos(now, acceptedNanos, clientActivity, backendActivity);
+        if (remaining <= 0) {
+            logger.debug("Closing connection to backend {}: {} timeout",
+                    backend, timeouts.describeExpiry(now, acceptedNanos, clientActivity, backendActivity));
+            close();
+            return;
+        }
+        idleTimeout = eventLoop.schedule(this::checkTimeouts, remaining, TimeUnit.NANOSECONDS);
+    }
+
+    private void connect() {
+        try {
+            BackendConnectionPool warmPool = handlerContext.getWarmPool();
+            SocketChannel warmChannel = warmPool != null ? warmPool.acquire(backend) : null;
+            if (warmChannel != null) {
+                warm = true;
+                backendChannel = warmChannel;
+                backendKey = eventLoop.register(backendChannel, SelectionKey.OP_READ, this);
+                onBackendConnected();
+                return;
+            }
+
+            warm = false;
+            connectStartNanos = System.nanoTime();
+            backendChannel = SocketChannel.open();
             backendChannel.configureBlocking(false);
+            backendChannel.setOption(StandardSocketOptions.TCP_NODELAY, true);
 
-            Thread clientToBackend = new Thread(() -> forward(clientChannel, backendChannel, "client->backend"));
-            Thread backendToClient = new Thread(() -> forward(backendChannel, clientChannel, "backend->client"));
+            if (backendChannel.connect(backend.getAddress())) {
+                backendKey = eventLoop.register(backendChannel, SelectionKey.OP_READ, this);
+                onBackendConnected();
+            } else {
+                backendKey = eventLoop.register(backendChannel, SelectionKey.OP_CONNECT, this);
+                connectTimeout = eventLoop.schedule(
+                        this::onConnectTimeout, handlerContext.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (IOException | UnresolvedAddressException e) {
+            onConnectFailed(e);
+        }
+    }
 
-            clientToBackend.start();
-            backendToClient.start();
+    private void onConnectTimeout() {
+        if (!connected && !closed.get()) {
+            onConnectFailed(new SocketTimeoutException(
+                    "Connect timed out after " + handlerContext.getConnectTimeoutMillis() + "ms"));
+        }
+    }
 
-            clientToBackend.join();
-            backendToClient.join();
+    // The client is already accepted, so while attempts remain a failed or slow connect moves
+    // it to another backend instead of dropping it.
+    private void onConnectFailed(Exception e) {
+        healthMonitor.onFailure(backend);
+        meters.recordConnectFailure();
+        backend.recordConnectFailure();
+        if (closed.get()) {
+            return;
+        }
+        if (connectTimeout != null) {
+            connectTimeout.cancel();
+            connectTimeout = null;
+        }
+        closeChannel(backendChannel);
+        backendChannel = null;
 
-        } catch (IOException e) {
+        failedBackends.add(backend);
+        Backend next = failedBackends.size() < handlerContext.getConnectAttempts()
+                ? handlerContext.failover(context, failedBackends)
+                : null;
+        if (next == null) {
             logger.error("Error establishing connection to backend {}", backend, e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.warn("Connection handler interrupted");
-        } finally {
             close();
+            return;
+        }
+
+        logger.debug("Connect to backend {} failed ({}), retrying on {}", backend, e.getMessage(), next);
+        if (switchBackend(next)) {
+            connect();
         }
     }
 
-    private void forward(SocketChannel source, SocketChannel destination, String direction) {
-        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
-        try {
-            while (running) {
-                buffer.clear();
-                int bytesRead = source.read(buffer);
+    // Moves the connection's count from the current backend to `next`, which failover already
+    // counted. Done under the same lock close() takes, so close() and the close callback see
+    // either the old backend or the new one, and never decrement one of them twice or skip
+    // the other. Returns false, and releases `next`, if the handler closed first.
+    private boolean switchBackend(Backend next) {
+        synchronized (closed) {
+            if (closed.get()) {
+                next.decrementConnections();
+                return false;
+            }
+            backend.decrementConnections();
+            backend = next;
+            meters = handlerContext.getMetrics().forBackend(next);
+            return true;
+        }
+    }
 
-                if (bytesRead == -1) {
-                    break;
-                }
+    private void onBackendConnected() throws IOException {
+        connected = true;
+        if (connectTimeout != null) {
+            connectTimeout.cancel();
+            connectTimeout = null;
+        }
+        firstByteTimerStartNanos = System.nanoTime();
+        long connectNanos = warm ? 0 : firstByteTimerStartNanos - connectStartNanos;
+        if (!warm) {
+            backend.recordConnectLatency(connectNanos);
+            meters.recordConnectTime(connectNanos);
+            healthMonitor.onSuccess(backend);
+        }
+        FlightRecorderEvents.backendConnected(backend, connectNanos, warm);
+        backendKey.interestOps(SelectionKey.OP_READ);
+        clientKey = eventLoop.register(clientChannel, SelectionKey.OP_READ, this);
+
+        clientToBackend = new Direction("client->backend", clientChannel, clientKey, backendChannel, backendKey);
+        backendToClient = new Direction("backend->client", backendChannel, backendKey, clientChannel, clientKey);
+    }
 
-                if (bytesRead > 0) {
-                    buffer.flip();
-                    while (buffer.hasRemaining()) {
-                        destination.write(buffer);
-                    }
+    @Override
+    public void onReady(SelectionKey key) {
+        try {
+            if (key.isConnectable()) {
+                if (backendChannel.finishConnect()) {
+                    onBackendConnected();
                 }
+                return;
+            }
+
+            Direction inbound = key == clientKey ? clientToBackend : backendToClient;
+            Direction outbound = key == clientKey ? backendToClient : clientToBackend;
 
-                Thread.sleep(1);
+            if (key.isWritable()) {
+                outbound.flush();
+            }
+            if (key.isValid() && key.isReadable()) {
+                inbound.read();
             }
         } catch (IOException e) {
-            if (running) {
-                logger.debug("Error forwarding data {}: {}", direction, e.getMessage());
+            if (!connected) {
+                onConnectFailed(e);
+                return;
+            }
+            if (!closed.get()) {
+                logger.debug("Error forwarding data for backend {}: {}", backend, e.getMessage());
+                // A reset before the backend has answered at all counts against its health.
+                if (key == backendKey && !firstByteRecorded) {
+                    healthMonitor.onFailure(backend);
+                }
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            close();
+        } catch (CancelledKeyException e) {
+            close();
+        }
+    }
+
+    // Time to first byte runs from the client's first bytes (or the connect, for protocols
+    // where the server speaks first) until the backend's first response bytes.
+    private void onFirstBytes(Direction direction) {
+        if (direction == backendToClient) {
+            firstByteRecorded = true;
+            backend.recordFirstByteLatency(System.nanoTime() - firstByteTimerStartNanos);
+        } else if (!requestSeen) {
+            requestSeen = true;
+            firstByteTimerStartNanos = System.nanoTime();
         }
     }
 
+    @Override
     public void close() {
-        running = false;
+        synchronized (closed) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+        }
         closeChannel(clientChannel);
         closeChannel(backendChannel);
-        onClose.accept(clientChannel);
+        long durationNanos = System.nanoTime() - acceptedNanos;
+        FlightRecorderEvents.connectionClosed(context, backend, bytesToBackend, bytesFromBackend, durationNanos);
+        meters.recordConnectionDuration(durationNanos);
+        if (eventLoop.inEventLoop()) {
+            releaseLoopResources();
+        } else {
+            eventLoop.execute(this::releaseLoopResources);
+        }
+        onClose.run();
+    }
+
+    private void releaseLoopResources() {
+        if (connectTimeout != null) {
+            connectTimeout.cancel();
+            connectTimeout = null;
+        }
+        if (idleTimeout != null) {
+            idleTimeout.cancel();
+            idleTimeout = null;
+        }
+        if (clientToBackend != null) {
+            clientToBackend.relay.release();
+            backendToClient.relay.release();
+            clientToBackend = null;
+            backendToClient = null;
+        }
     }
 
     private void closeChannel(SocketChannel channel) {
@@ -97,7 +304,96 @@ class ConnectionHandler implements Runnable {
         }
     }
 
+    @Override
     public Backend getBackend() {
         return backend;
     }
+
+    private final class Direction {
+
+        private final String name;
+        private final SocketChannel source;
+        private final SelectionKey sourceKey;
+        private final SocketChannel destination;
+        private final SelectionKey destinationKey;
+        private final Relay relay = eventLoop.newRelay();
+        private boolean endOfStream;
+        private boolean outputShutdown;
+
+        Direction(String name, SocketChannel source, SelectionKey sourceKey,
+                  SocketChannel destination, SelectionKey destinationKey) {
+            this.name = name;
+            this.source = source;
+            this.sourceKey = sourceKey;
+            this.destination = destination;
+            this.destinationKey = destinationKey;
+        }
+
+        void read() throws IOException {
+            long bytesRead = relay.read(source);
+
+            if (bytesRead == -1) {
+                logger.debug("End of stream {} for backend {}", name, backend);
+                endOfStream = true;
+                sourceKey.interestOps(sourceKey.interestOps() & ~SelectionKey.OP_READ);
+                if (!relay.hasPending()) {
+                    shutdownOutput();
+                }
+                return;
+            }
+
+            if (bytesRead > 0) {
+                if (this == clientToBackend) {
+                    lastClientActivityNanos = eventLoop.nanoTime();
+                    bytesToBackend += bytesRead;
+                    meters.recordBytesToBackend(bytesRead);
+                } else {
+                    lastBackendActivityNanos = eventLoop.nanoTime();
+                    bytesFromBackend += bytesRead;
+                    meters.recordBytesFromBackend(bytesRead);
+                }
+                if (!firstByteRecorded) {
+                    onFirstBytes(this);
+                }
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (relay.write(destination) > 0) {
+                if (this == clientToBackend) {
+                    lastBackendActivityNanos = eventLoop.nanoTime();
+                } else {
+                    lastClientActivityNanos = eventLoop.nanoTime();
+                }
+            }
+
+            // Stop reading until the destination drains whatever it could not accept.
+            if (relay.hasPending()) {
+                sourceKey.interestOps(sourceKey.interestOps() & ~SelectionKey.OP_READ);
+                destinationKey.interestOps(destinationKey.interestOps() | SelectionKey.OP_WRITE);
+                return;
+            }
+
+            destinationKey.interestOps(destinationKey.interestOps() & ~SelectionKey.OP_WRITE);
+            if (endOfStream) {
+                shutdownOutput();
+            } else {
+                sourceKey.interestOps(sourceKey.interestOps() | SelectionKey.OP_READ);
+            }
+        }
+
+        // Propagate the half-close so the peer sees EOF while the other direction keeps flowing.
+        private void shutdownOutput() throws IOException {
+            if (outputShutdown) {
+                return;
+            }
+            outputShutdown = true;
+            if (clientToBackend.outputShutdown && backendToClient.outputShutdown) {
+                close();
+            } else {
+                destination.shutdownOutput();
+            }
+        }
+    }
 }
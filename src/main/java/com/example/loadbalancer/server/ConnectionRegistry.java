@@ -0,0 +1,187 @@
+package com.example.loadbalancer.server;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+// Live connections by id, in preallocated slots instead of a map node per connection. Slots
+// are split into one partition per event loop, so opens and closes on different loops never
+// touch the same lock or cache lines. Each partition keeps a stack of free slot numbers, so
+// taking and freeing a slot is O(1), and grows by doubling when it runs out.
+//
+// An id packs the slot's generation into the high 32 bits and partition << SLOT_BITS | slot
+// into the low 32. Freeing a slot bumps its generation, so a stale id (a second close, or a
+// close racing a shutdown sweep) can never free the slot's next occupant.
+//
+// Updates lock their partition; forEach and size only read and never block them.
+public final class ConnectionRegistry<T> {
+
+    static final int SLOT_BITS = 24;
+    static final int MAX_PARTITIONS = 1 << (32 - SLOT_BITS);
+    private static final int MAX_SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = MAX_SLOTS - 1;
+
+    private final Partition<T>[] partitions;
+
+    @SuppressWarnings("unchecked")
+    public ConnectionRegistry(int partitions, int initialSlotsPerPartition) {
+        if (partitions < 1 || partitions > MAX_PARTITIONS) {
+            throw new IllegalArgumentException("Partitions must be between 1 and " + MAX_PARTITIONS + ": " + partitions);
+        }
+        this.partitions = new Partition[partitions];
+        for (int i = 0; i < partitions; i++) {
+            this.partitions[i] = new Partition<>(i, Math.max(1, initialSlotsPerPartition));
+        }
+    }
+
+    public int partitions() {
+        return partitions.length;
+    }
+
+    // Takes a free slot so the caller can hand its id to the connection before publishing it
+    // with set. Until then the slot is skipped by forEach.
+    public long reserve(int partition) {
+        return partitions[Math.floorMod(partition, partitions.length)].reserve();
+    }
+
+    public void set(long id, T connection) {
+        Partition<T> partition = partitionOf(id);
+        if (partition != null) {
+            partition.set(id, connection);
+        }
+    }
+
+    // Returns what was registered under the id, or null if it was already removed.
+    public T remove(long id) {
+        Partition<T> partition = partitionOf(id);
+        return partition != null ? partition.remove(id) : null;
+    }
+
+    // Weakly consistent: sees everything registered before the call and nothing removed
+    // before it, and may or may not see changes made while it runs.
+    public void forEach(Consumer<? super T> action) {
+        for (Partition<T> partition : partitions) {
+            AtomicReferenceArray<T> slots = partition.slots;
+            for (int i = 0, n = slots.length(); i < n; i++) {
+                T connection = slots.get(i);
+                if (connection != null) {
+                    action.accept(connection);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Partition<T> partition : partitions) {
+            size += partition.size;
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Partition<T> partition : partitions) {
+            partition.clear();
+        }
+    }
+
+    private Partition<T> partitionOf(long id) {
+        int partition = (int) id >>> SLOT_BITS;
+        return partition < partitions.length ? partitions[partition] : null;
+    }
+
+    private static final class Partition<T> {
+
+        private final int index;
+        private volatile AtomicReferenceArray<T> slots;
+        private volatile int size;
+        // Guarded by this.
+        private int[] generations;
+        private boolean[] reserved;
+        private int[] free;
+        private int freeCount;
+        private int used;
+
+        Partition(int index, int capacity) {
+            this.index = index;
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.generations = new int[capacity];
+            this.reserved = new boolean[capacity];
+            this.free = new int[capacity];
+        }
+
+        synchronized long reserve() {
+            int slot;
+            if (freeCount > 0) {
+                slot = free[--freeCount];
+            } else {
+                if (used == generations.length) {
+                    grow();
+                }
+                slot = used++;
+            }
+            reserved[slot] = true;
+            size++;
+            return (long) generations[slot] << 32 | (index << SLOT_BITS | slot) & 0xFFFFFFFFL;
+        }
+
+        synchronized void set(long id, T connection) {
+            int slot = slotOf(id);
+            if (slot >= 0) {
+                slots.set(slot, connection);
+            }
+        }
+
+        synchronized T remove(long id) {
+            int slot = slotOf(id);
+            if (slot < 0) {
+                return null;
+            }
+            T connection = slots.getAndSet(slot, null);
+            release(slot);
+            return connection;
+        }
+
+        synchronized void clear() {
+            for (int slot = 0; slot < used; slot++) {
+                if (reserved[slot]) {
+                    slots.set(slot, null);
+                    release(slot);
+                }
+            }
+        }
+
+        // -1 unless the id names a slot that is still held by the same occupant.
+        private int slotOf(long id) {
+            int slot = (int) id & SLOT_MASK;
+            if (slot >= used || !reserved[slot] || generations[slot] != (int) (id >>> 32)) {
+                return -1;
+            }
+            return slot;
+        }
+
+        private void release(int slot) {
+            reserved[slot] = false;
+            generations[slot]++;
+            free[freeCount++] = slot;
+            size--;
+        }
+
+        private void grow() {
+            int capacity = generations.length;
+            if (capacity == MAX_SLOTS) {
+                throw new IllegalStateException("Connection registry partition " + index + " is full");
+            }
+            int grown = Math.min(MAX_SLOTS, capacity * 2);
+            AtomicReferenceArray<T> current = slots;
+            AtomicReferenceArray<T> copy = new AtomicReferenceArray<>(grown);
+            for (int i = 0; i < capacity; i++) {
+                copy.set(i, current.get(i));
+            }
+            slots = copy;
+            generations = Arrays.copyOf(generations, grown);
+            reserved = Arrays.copyOf(reserved, grown);
+            free = Arrays.copyOf(free, grown);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.loadbalancer.server;
+
+import java.util.concurrent.TimeUnit;
+
+// Idle and lifetime limits for proxied connections; 0 turns a limit off. A side is idle only
+// while nothing is read from it and nothing is written to it, so a silent client receiving a
+// long download stays up. Handlers don't re-arm a timer on every transfer: they stamp the time
+// of the last activity per side and keep one timer per connection, which on expiry either
+// closes the connection or re-arms for the remainder.
+final class ConnectionTimeouts {
+
+    private final long clientIdleNanos;
+    private final long backendIdleNanos;
+    private final long maxLifetimeNanos;
+
+    ConnectionTimeouts(long clientIdleMillis, long backendIdleMillis, long maxLifetimeMillis) {
+        this.clientIdleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, clientIdleMillis));
+        this.backendIdleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, backendIdleMillis));
+        this.maxLifetimeNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxLifetimeMillis));
+    }
+
+    boolean isEnabled() {
+        return clientIdleNanos > 0 || backendIdleNanos > 0 || maxLifetimeNanos > 0;
+    }
+
+    // Nanos until the earliest deadline, or <= 0 once one has passed. A side that has already
+    // reached end of stream should pass `now` as its last activity so it cannot go idle.
+    long remainingNanos(long now, long acceptedNanos, long lastClientActivityNanos, long lastBackendActivityNanos) {
+        long remaining = Long.MAX_VALUE;
+        if (clientIdleNanos > 0) {
+            remaining = Math.min(remaining, lastClientActivityNanos + clientIdleNanos - now);
+        }
+        if (backendIdleNanos > 0) {
+            remaining = Math.min(remaining, lastBackendActivityNanos + backendIdleNanos - now);
+        }
+        if (maxLifetimeNanos > 0) {
+            remaining = Math.min(remaining, acceptedNanos + maxLifetimeNanos - now);
+        }
+        return remaining;
+    }
+
+    String describeExpiry(long now, long acceptedNanos, long lastClientActivityNanos, long lastBackendActivityNanos) {
+        if (maxLifetimeNanos > 0 && now - acceptedNanos >= maxLifetimeNanos) {
+            return "max lifetime";
+        }
+        if (clientIdleNanos > 0 && now - lastClientActivityNanos >= clientIdleNanos) {
+            return "client idle";
+        }
+        return "backend idle";
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.loadbalancer.server;
+
+import java.nio.channels.SelectionKey;
+
+interface EventHandler {
+    void onReady(SelectionKey key);
+}
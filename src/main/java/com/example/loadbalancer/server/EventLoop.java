@@ -0,0 +1,168 @@
+package com.example.loadbalancer.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class EventLoop implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLoop.class);
+    private static final long SELECT_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int index;
+    private final Selector selector;
+    private final BufferPool bufferPool;
+    private final ForwardingTransport transport;
+    private final int bufferSize;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean(false);
+    private final TimingWheel timers;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private long nanoTime = System.nanoTime();
+
+    EventLoop(int index, ForwardingTransport transport, int bufferSize, int maxPooledBuffers) throws IOException {
+        this.index = index;
+        this.selector = Selector.open();
+        this.transport = transport;
+        this.bufferSize = bufferSize;
+        this.bufferPool = new BufferPool(maxPooledBuffers);
+        this.timers = new TimingWheel(TimingWheel.DEFAULT_TICK_NANOS, TimingWheel.DEFAULT_WHEEL_SIZE, nanoTime);
+        this.thread = new Thread(this, "lb-event-loop-" + index);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    void execute(Runnable task) {
+        tasks.add(task);
+        if (!inEventLoop() && wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    // Loop-thread only. Backed by a timing wheel, so arming and cancelling are O(1) and a
+    // cancelled timeout is unlinked straight away. Fires up to one wheel tick late.
+    TimingWheel.Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return timers.schedule(() -> runScheduled(task), unit.toNanos(delay), System.nanoTime());
+    }
+
+    // Loop-thread only. The clock as of the latest wake-up, cheap enough to read per event.
+    long nanoTime() {
+        return nanoTime;
+    }
+
+    Relay newRelay() {
+        return transport.newRelay(bufferPool, bufferSize);
+    }
+
+    SelectionKey register(SelectableChannel channel, int interestOps, EventHandler handler)
+            throws ClosedChannelException {
+        return channel.register(selector, interestOps, handler);
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                selector.select(selectTimeoutMillis());
+                wakeupPending.set(false);
+                nanoTime = System.nanoTime();
+                processSelectedKeys();
+                runTasks();
+                timers.advance(System.nanoTime());
+            } catch (IOException e) {
+                if (running) {
+                    logger.error("Error in event loop {}", index, e);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Unexpected error in event loop {}", index, e);
+            }
+        }
+        closeSelector();
+    }
+
+    private void processSelectedKeys() {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+
+            if (!key.isValid()) {
+                continue;
+            }
+
+            ((EventHandler) key.attachment()).onReady(key);
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("Error running task in event loop {}", index, e);
+            }
+        }
+    }
+
+    // select(0) blocks forever, so always wait at least a millisecond.
+    private long selectTimeoutMillis() {
+        long nanos = timers.nanosUntilNextTimeout(System.nanoTime(), SELECT_TIMEOUT_NANOS);
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(nanos + 999_999));
+    }
+
+    private void runScheduled(Runnable task) {
+        nanoTime = System.nanoTime();
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            logger.error("Error running scheduled task in event loop {}", index, e);
+        }
+    }
+
+    void shutdown(long timeout, TimeUnit unit) {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(unit.toMillis(timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closeSelector() {
+        for (SelectionKey key : selector.keys()) {
+            try {
+                key.channel().close();
+            } catch (IOException e) {
+                logger.debug("Error closing channel", e);
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            logger.error("Error closing selector", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.loadbalancer.server;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class EventLoopGroup {
+
+    private final EventLoop[] loops;
+    private final AtomicInteger next = new AtomicInteger(0);
+
+    EventLoopGroup(int threads, ForwardingTransport transport, int bufferSize, int maxPooledBuffers) throws IOException {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.loops = new EventLoop[size];
+        for (int i = 0; i < size; i++) {
+            loops[i] = new EventLoop(i, transport, bufferSize, maxPooledBuffers);
+        }
+    }
+
+    void start() {
+        for (EventLoop loop : loops) {
+            loop.start();
+        }
+    }
+
+    EventLoop next() {
+        return loops[Math.floorMod(next.getAndIncrement(), loops.length)];
+    }
+
+    EventLoop get(int index) {
+        return loops[index];
+    }
+
+    int size() {
+        return loops.length;
+    }
+
+    void shutdown(long timeout, TimeUnit unit) {
+        for (EventLoop loop : loops) {
+            loop.shutdown(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.loadbalancer.server;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.ConnectionContext;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// JDK Flight Recorder events for the data plane. All are disabled unless a recording turns
+// them on (e.g. -XX:StartFlightRecording:settings=... or `jcmd <pid> JFR.start`). While
+// disabled, isEnabled() is a constant false after JIT and the event allocation is eliminated,
+// so the hooks cost next to nothing.
+final class FlightRecorderEvents {
+
+    static final String PREFIX = "com.example.loadbalancer.";
+
+    private FlightRecorderEvents() {
+    }
+
+    static void connectionAccepted(ConnectionContext context) {
+        ConnectionAccepted event = new ConnectionAccepted();
+        if (event.isEnabled()) {
+            event.client = String.valueOf(context.getClientAddress());
+            event.commit();
+        }
+    }
+
+    static void backendSelected(ConnectionContext context, Backend backend, String algorithm, int attempt) {
+        BackendSelected event = new BackendSelected();
+        if (event.isEnabled()) {
+            event.client = String.valueOf(context.getClientAddress());
+            event.backend = String.valueOf(backend);
+            event.algorithm = algorithm;
+            event.attempt = attempt;
+            event.commit();
+        }
+    }
+
+    static void backendConnected(Backend backend, long connectNanos, boolean warm) {
+        BackendConnected event = new BackendConnected();
+        if (event.isEnabled()) {
+            event.backend = backend.toString();
+            event.connectTime = connectNanos;
+            event.warm = warm;
+            event.commit();
+        }
+    }
+
+    static void connectionClosed(ConnectionContext context, Backend backend, long bytesToBackend,
+                                 long bytesFromBackend, long durationNanos) {
+        ConnectionClosed event = new ConnectionClosed();
+        if (event.isEnabled()) {
+            event.client = String.valueOf(context.getClientAddress());
+            event.backend = String.valueOf(backend);
+            event.bytesToBackend = bytesToBackend;
+            event.bytesFromBackend = bytesFromBackend;
+            event.connectionDuration = durationNanos;
+            event.commit();
+        }
+    }
+
+    @Name(PREFIX + "ConnectionAccepted")
+    @Label("Connection Accepted")
+    @Category("Load Balancer")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class ConnectionAccepted extends Event {
+        @Label("Client")
+        String client;
+    }
+
+    @Name(PREFIX + "BackendSelected")
+    @Label("Backend Selected")
+    @Description("A backend was picked for a client; attempts after the first are fail-overs")
+    @Category("Load Balancer")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class BackendSelected extends Event {
+        @Label("Client")
+        String client;
+
+        @Label("Backend")
+        String backend;
+
+        @Label("Algorithm")
+        String algorithm;
+
+        @Label("Attempt")
+        int attempt;
+    }
+
+    @Name(PREFIX + "BackendConnected")
+    @Label("Backend Connected")
+    @Category("Load Balancer")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class BackendConnected extends Event {
+        @Label("Backend")
+        String backend;
+
+        @Label("Connect Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long connectTime;
+
+        @Label("From Warm Pool")
+        boolean warm;
+    }
+
+    @Name(PREFIX + "ConnectionClosed")
+    @Label("Connection Closed")
+    @Category("Load Balancer")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class ConnectionClosed extends Event {
+        @Label("Client")
+        String client;
+
+        @Label("Backend")
+        String backend;
+
+        @Label("Bytes To Backend")
+        @DataAmount
+        long bytesToBackend;
+
+        @Label("Bytes From Backend")
+        @DataAmount
+        long bytesFromBackend;
+
+        @Label("Connection Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long connectionDuration;
+    }
+}
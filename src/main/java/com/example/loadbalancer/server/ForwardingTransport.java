@@ -0,0 +1,13 @@
+package com.example.loadbalancer.server;
+
+// Extension point for the byte-moving part of the data plane. Only nio ships; other
+// providers are discovered through java.util.ServiceLoader and selected with
+// loadbalancer.transport without touching the event loop.
+public interface ForwardingTransport {
+
+    String getName();
+
+    boolean isAvailable();
+
+    Relay newRelay(BufferPool bufferPool, int bufferSize);
+}
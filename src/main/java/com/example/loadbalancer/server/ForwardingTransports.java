@@ -0,0 +1,37 @@
+package com.example.loadbalancer.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ServiceLoader;
+
+public final class ForwardingTransports {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForwardingTransports.class);
+    private static final String AUTO = "auto";
+
+    private ForwardingTransports() {
+    }
+
+    public static ForwardingTransport select(String name) {
+        ForwardingTransport fallback = new NioForwardingTransport();
+        if (name == null || NioForwardingTransport.NAME.equals(name)) {
+            return fallback;
+        }
+
+        for (ForwardingTransport transport : ServiceLoader.load(ForwardingTransport.class)) {
+            if (!AUTO.equals(name) && !transport.getName().equals(name)) {
+                continue;
+            }
+            if (transport.isAvailable()) {
+                return transport;
+            }
+            logger.warn("Forwarding transport {} is not available on this platform", transport.getName());
+        }
+
+        if (!AUTO.equals(name)) {
+            logger.warn("Forwarding transport {} not found, using {}", name, fallback.getName());
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.loadbalancer.server;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.ConnectionContext;
+import com.example.loadbalancer.health.PassiveHealthMonitor;
+import com.example.loadbalancer.metrics.LoadBalancerMetrics;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+// Settings and collaborators every connection handler of a server shares.
+final class HandlerContext {
+
+    private final BackendConnectionPool warmPool;
+    private final PassiveHealthMonitor healthMonitor;
+    private final LoadBalancerMetrics metrics;
+    private final BiFunction<ConnectionContext, List<Backend>, Backend> failover;
+    private final int connectTimeoutMillis;
+    private final int connectAttempts;
+    private final int bufferSize;
+    private final ConnectionTimeouts timeouts;
+    private final WheelTimer timer;
+
+    HandlerContext(BackendConnectionPool warmPool, PassiveHealthMonitor healthMonitor, LoadBalancerMetrics metrics,
+                   BiFunction<ConnectionContext, List<Backend>, Backend> failover,
+                   int connectTimeoutMillis, int connectAttempts, int bufferSize,
+                   ConnectionTimeouts timeouts, WheelTimer timer) {
+        this.warmPool = warmPool;
+        this.healthMonitor = healthMonitor;
+        this.metrics = metrics;
+        this.failover = failover;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.connectAttempts = Math.max(1, connectAttempts);
+        this.bufferSize = bufferSize;
+        this.timeouts = timeouts;
+        this.timer = timer;
+    }
+
+    // Null when pre-warming is off.
+    BackendConnectionPool getWarmPool() {
+        return warmPool;
+    }
+
+    PassiveHealthMonitor getHealthMonitor() {
+        return healthMonitor;
+    }
+
+    LoadBalancerMetrics getMetrics() {
+        return metrics;
+    }
+
+    // Picks another backend for a client whose connects to every backend in `failed` failed.
+    // The returned backend already counts the connection; the caller releases the old one.
+    Backend failover(ConnectionContext context, List<Backend> failed) {
+        return failover.apply(context, failed);
+    }
+
+    int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    int getConnectAttempts() {
+        return connectAttempts;
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+
+    ConnectionTimeouts getTimeouts() {
+        return timeouts;
+    }
+
+    // Drives timeouts for handlers without an event loop; null in event-loop mode.
+    WheelTimer getTimer() {
+        return timer;
+    }
+}
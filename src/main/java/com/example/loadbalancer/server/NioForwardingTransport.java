@@ -0,0 +1,61 @@
+package com.example.loadbalancer.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+// Pure-Java fallback: payload passes through a pooled direct buffer, so the only copies
+// are the kernel's to and from that buffer.
+class NioForwardingTransport implements ForwardingTransport {
+
+    static final String NAME = "nio";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public Relay newRelay(BufferPool bufferPool, int bufferSize) {
+        return new BufferedRelay(bufferPool, bufferPool.acquire(bufferSize));
+    }
+
+    private static final class BufferedRelay implements Relay {
+
+        private final BufferPool bufferPool;
+        private final ByteBuffer buffer;
+
+        BufferedRelay(BufferPool bufferPool, ByteBuffer buffer) {
+            this.bufferPool = bufferPool;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public long read(SocketChannel source) throws IOException {
+            return source.read(buffer);
+        }
+
+        @Override
+        public long write(SocketChannel destination) throws IOException {
+            buffer.flip();
+            int written = destination.write(buffer);
+            buffer.compact();
+            return written;
+        }
+
+        @Override
+        public boolean hasPending() {
+            return buffer.position() > 0;
+        }
+
+        @Override
+        public void release() {
+            bufferPool.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.loadbalancer.server;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+
+// One direction of a proxied connection: bytes are pulled from the source socket with
+// read() and pushed to the destination with write(). Implementations must be non-blocking
+// when the channels are.
+public interface Relay {
+
+    long read(SocketChannel source) throws IOException;
+
+    long write(SocketChannel destination) throws IOException;
+
+    boolean hasPending();
+
+    void release();
+}
@@ -1,98 +1,140 @@
 package com.example.loadbalancer.server;
 
 import com.example.loadbalancer.config.LoadBalancerProperties;
+import com.example.loadbalancer.core.AdaptiveConcurrencyLimit;
 import com.example.loadbalancer.core.Backend;
 import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.BackendSnapshot;
+import com.example.loadbalancer.core.ConnectionContext;
 import com.example.loadbalancer.core.LoadBalancingAlgorithm;
+import com.example.loadbalancer.discovery.BackendResolver;
 import com.example.loadbalancer.health.HealthChecker;
+import com.example.loadbalancer.health.PassiveHealthMonitor;
+import com.example.loadbalancer.metrics.LoadBalancerMetrics;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
+import java.net.StandardSocketOptions;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class TcpLoadBalancerServer {
 
     private static final Logger logger = LoggerFactory.getLogger(TcpLoadBalancerServer.class);
+    private static final String VIRTUAL_THREADING_MODEL = "virtual";
+    private static final int INITIAL_CONNECTION_SLOTS = 256;
     private final LoadBalancerProperties properties;
     private final BackendPool backendPool;
     private final LoadBalancingAlgorithm algorithm;
     private final HealthChecker healthChecker;
-    private ServerSocketChannel serverChannel;
-    private Selector selector;
-    private ExecutorService executorService;
-    private volatile boolean running = false;
-    private final Map<SocketChannel, ConnectionHandler> activeConnections = new ConcurrentHashMap<>();
+    private final PassiveHealthMonitor healthMonitor;
+    private final LoadBalancerMetrics metrics;
+    private final BackendResolver backendResolver = new BackendResolver();
+    private final AdmissionQueue admissionQueue;
+    private final List<Acceptor> acceptors = new ArrayList<>();
+    private EventLoopGroup eventLoops;
+    private ThreadFactory connectionThreadFactory;
+    private BackendConnectionPool warmPool;
+    private HandlerContext handlerContext;
+    private WheelTimer timer;
+    private final ConnectionRegistry<Connection> activeConnections;
 
     public TcpLoadBalancerServer(
             LoadBalancerProperties properties,
             BackendPool backendPool,
             LoadBalancingAlgorithm algorithm,
             HealthChecker healthChecker) {
+        this(properties, backendPool, algorithm, healthChecker, new LoadBalancerMetrics(backendPool));
+    }
+
+    @Autowired
+    public TcpLoadBalancerServer(
+            LoadBalancerProperties properties,
+            BackendPool backendPool,
+            LoadBalancingAlgorithm algorithm,
+            HealthChecker healthChecker,
+            LoadBalancerMetrics metrics) {
         this.properties = properties;
+        this.metrics = metrics;
         this.backendPool = backendPool;
         this.algorithm = algorithm;
         this.healthChecker = healthChecker;
+        this.healthMonitor = new PassiveHealthMonitor(
+                backendPool,
+                properties.getEjectionConsecutiveFailures(),
+                properties.getEjectionBaseMillis(),
+                properties.getEjectionMaxMillis(),
+                properties.getMaxEjectionPercent());
+        this.admissionQueue = new AdmissionQueue(
+                properties.getMaxConnections(),
+                properties.getAdmissionQueueSize(),
+                properties.getAdmissionTimeoutMillis(),
+                metrics);
+        int loops = properties.getEventLoopThreads() > 0
+                ? properties.getEventLoopThreads() : Runtime.getRuntime().availableProcessors();
+        this.activeConnections = new ConnectionRegistry<>(
+                Math.min(loops, ConnectionRegistry.MAX_PARTITIONS), INITIAL_CONNECTION_SLOTS);
     }
 
     @PostConstruct
     public void start() throws IOException {
+        // Decided from the configuration rather than from the members resolved so far: a
+        // prewarm host whose DNS fails at boot still gets pooled once its members appear.
+        if (properties.getBackends().stream().anyMatch(LoadBalancerProperties.BackendConfig::isPrewarm)) {
+            LoadBalancerProperties.WarmPool config = properties.getWarmPool();
+            warmPool = new BackendConnectionPool(
+                    config.getMinIdle(),
+                    config.getMaxIdle(),
+                    config.getMaxIdleAgeMillis(),
+                    config.getConnectTimeoutMillis());
+            warmPool.start(config.getRefillIntervalMillis());
+        }
         initializeBackends();
+        backendResolver.start(TimeUnit.SECONDS.toMillis(properties.getDnsRefreshIntervalSeconds()));
         startServer();
         healthChecker.start(
                 properties.getHealthCheckIntervalSeconds(),
-                properties.getHealthCheckTimeoutSeconds()
+                properties.getHealthCheckTimeoutSeconds(),
+                properties.getHealthCheckRise(),
+                properties.getHealthCheckFall()
         );
         logger.info("Load balancer started on port {}", properties.getPort());
     }
 
     @PreDestroy
     public void stop() {
-        running = false;
         healthChecker.stop();
+        healthMonitor.stop();
+        backendResolver.stop();
 
-        if (executorService != null) {
-            executorService.shutdown();
-            try {
-                if (!executorService.awaitTermination(5, java.util.concurrent.TimeUnit.SECONDS)) {
-                    executorService.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                executorService.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
+        acceptors.forEach(acceptor -> acceptor.stop(5, TimeUnit.SECONDS));
+        acceptors.clear();
+        admissionQueue.stop();
 
-        activeConnections.values().forEach(ConnectionHandler::close);
+        activeConnections.forEach(Connection::close);
         activeConnections.clear();
 
-        if (selector != null && selector.isOpen()) {
-            try {
-                selector.close();
-            } catch (IOException e) {
-                logger.error("Error closing selector", e);
-            }
+        if (eventLoops != null) {
+            eventLoops.shutdown(5, TimeUnit.SECONDS);
+        }
+        if (timer != null) {
+            timer.stop();
         }
 
-        if (serverChannel != null && serverChannel.isOpen()) {
-            try {
-                serverChannel.close();
-            } catch (IOException e) {
-                logger.error("Error closing server channel", e);
-            }
+        if (warmPool != null) {
+            warmPool.stop();
         }
 
         logger.info("Load balancer stopped");
@@ -100,89 +142,237 @@ public class TcpLoadBalancerServer {
 
     private void initializeBackends() {
         for (LoadBalancerProperties.BackendConfig config : properties.getBackends()) {
-            Backend backend = new Backend(config.getHost(), config.getPort());
-            backendPool.addBackend(backend);
-            logger.info("Added backend: {}", backend);
+            backendResolver.register(
+                    config.getHost(),
+                    config.getPort(),
+                    config.getWeight(),
+                    config.isResolveAll(),
+                    backend -> addBackend(backend, config),
+                    this::removeBackend);
         }
     }
 
+    private void addBackend(Backend backend, LoadBalancerProperties.BackendConfig config) {
+        backend.setMaxConnections(config.getMaxConnections());
+        backend.setSlowStartMillis(TimeUnit.SECONDS.toMillis(properties.getSlowStartSeconds()));
+        backend.setLatencyDecayMillis(properties.getLatencyDecayMillis());
+        LoadBalancerProperties.AdaptiveConcurrency adaptive = properties.getAdaptiveConcurrency();
+        if (adaptive.isEnabled()) {
+            backend.setConcurrencyLimit(new AdaptiveConcurrencyLimit(
+                    adaptive.getInitialLimit(),
+                    adaptive.getMinLimit(),
+                    adaptive.getMaxLimit(),
+                    adaptive.getSmoothing(),
+                    adaptive.getRttTolerance()));
+        }
+        backendPool.addBackend(backend);
+        logger.info("Added backend: {}", backend);
+
+        if (config.isPrewarm()) {
+            warmPool.register(backend);
+        }
+    }
+
+    // Connections already routed to a removed member drain naturally; it just stops being picked.
+    private void removeBackend(Backend backend) {
+        backendPool.removeBackend(backend);
+        healthMonitor.forget(backend);
+        if (warmPool != null) {
+            warmPool.unregister(backend);
+        }
+        metrics.remove(backend);
+        logger.info("Removed backend: {}", backend);
+    }
+
     private void startServer() throws IOException {
-        serverChannel = ServerSocketChannel.open();
-        serverChannel.bind(new InetSocketAddress(properties.getPort()));
-        serverChannel.configureBlocking(false);
+        ConnectionTimeouts timeouts = new ConnectionTimeouts(
+                properties.getClientIdleTimeoutMillis(),
+                properties.getBackendIdleTimeoutMillis(),
+                properties.getMaxConnectionLifetimeMillis());
+        boolean virtualThreads = VIRTUAL_THREADING_MODEL.equals(properties.getThreadingModel());
+        if (virtualThreads && timeouts.isEnabled()) {
+            timer = new WheelTimer("lb-timeouts");
+            timer.start();
+        }
 
-        selector = Selector.open();
-        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        handlerContext = new HandlerContext(
+                warmPool,
+                healthMonitor,
+                metrics,
+                this::failover,
+                properties.getConnectTimeoutMillis(),
+                properties.getConnectAttempts(),
+                properties.getBufferSize(),
+                timeouts,
+                timer);
 
-        executorService = Executors.newFixedThreadPool(10);
-        running = true;
+        if (virtualThreads) {
+            connectionThreadFactory = VirtualThreads.factory("lb-connection-");
+            logger.info("Using thread-per-connection forwarding on virtual threads");
+        } else {
+            ForwardingTransport transport = ForwardingTransports.select(properties.getTransport());
+            eventLoops = new EventLoopGroup(
+                    properties.getEventLoopThreads(),
+                    transport,
+                    properties.getBufferSize(),
+                    properties.getMaxPooledBuffersPerLoop());
+            eventLoops.start();
+            logger.info("Started {} event loop threads using {} transport", eventLoops.size(), transport.getName());
+        }
 
-        executorService.submit(this::acceptConnections);
+        admissionQueue.start(this::tryStart);
+        startAcceptors();
     }
 
-    private void acceptConnections() {
-        while (running) {
-            try {
-                int readyChannels = selector.select(1000);
-                if (readyChannels == 0) {
-                    continue;
-                }
-
-                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
-                while (keys.hasNext()) {
-                    SelectionKey key = keys.next();
-                    keys.remove();
-
-                    if (!key.isValid()) {
-                        continue;
-                    }
-
-                    if (key.isAcceptable()) {
-                        handleAccept(key);
-                    }
-                }
-            } catch (IOException e) {
-                if (running) {
-                    logger.error("Error in accept loop", e);
-                }
+    // With SO_REUSEPORT every acceptor binds its own socket to the same port and the kernel
+    // spreads incoming connections across them; in event-loop mode acceptor i feeds loop i.
+    private void startAcceptors() throws IOException {
+        int listeners = 1;
+        if (properties.isReusePort()) {
+            if (isReusePortSupported()) {
+                listeners = properties.getAcceptorThreads() > 0
+                        ? properties.getAcceptorThreads()
+                        : eventLoops != null ? eventLoops.size() : Runtime.getRuntime().availableProcessors();
+            } else {
+                logger.warn("SO_REUSEPORT is not supported on this platform, using a single listener");
             }
         }
+
+        int port = properties.getPort();
+        for (int i = 0; i < listeners; i++) {
+            ServerSocketChannel serverChannel = ServerSocketChannel.open();
+            if (listeners > 1) {
+                serverChannel.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+            }
+            serverChannel.bind(new InetSocketAddress(port));
+            port = serverChannel.socket().getLocalPort();
+
+            EventLoop eventLoop = listeners > 1 && eventLoops != null ? eventLoops.get(i % eventLoops.size()) : null;
+            acceptors.add(new Acceptor(i, serverChannel, eventLoop, this::handleAccept));
+        }
+
+        acceptors.forEach(Acceptor::start);
+        logger.info("Started {} acceptor thread(s)", listeners);
+    }
+
+    private static boolean isReusePortSupported() throws IOException {
+        try (ServerSocketChannel probe = ServerSocketChannel.open()) {
+            return probe.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT);
+        }
     }
 
-    private void handleAccept(SelectionKey key) {
+    private void handleAccept(SocketChannel clientChannel, EventLoop eventLoop) {
         try {
-            ServerSocketChannel serverSocketChannel = (ServerSocketChannel) key.channel();
-            SocketChannel clientChannel = serverSocketChannel.accept();
-
-            if (clientChannel != null) {
-                clientChannel.configureBlocking(false);
-                Backend backend = algorithm.selectBackend(backendPool.getAllBackends());
-
-                if (backend == null) {
-                    logger.warn("No healthy backend available, rejecting connection");
-                    clientChannel.close();
-                    return;
-                }
-
-                ConnectionHandler handler = new ConnectionHandler(clientChannel, backend, this::onConnectionClosed);
-                activeConnections.put(clientChannel, handler);
-                backend.incrementConnections();
-                executorService.submit(handler);
-                logger.debug("Accepted connection, routing to backend: {}", backend);
+            clientChannel.configureBlocking(false);
+            ConnectionContext context = ConnectionContext.forClient(
+                    (InetSocketAddress) clientChannel.getRemoteAddress());
+            FlightRecorderEvents.connectionAccepted(context);
+
+            if (!admissionQueue.hasWaiters() && tryStart(clientChannel, context, eventLoop)) {
+                return;
+            }
+            if (backendPool.getHealthyBackendsCount() == 0) {
+                logger.warn("No healthy backend available, rejecting connection");
+                metrics.recordRejected();
+                clientChannel.close();
+                return;
             }
+            admissionQueue.enqueue(clientChannel, context, eventLoop);
         } catch (IOException e) {
+            // Only the setup calls above throw, before the channel is handed to anything else.
             logger.error("Error accepting connection", e);
+            try {
+                clientChannel.close();
+            } catch (IOException closeError) {
+                logger.debug("Error closing client channel", closeError);
+            }
         }
     }
 
-    private void onConnectionClosed(SocketChannel clientChannel) {
-        ConnectionHandler handler = activeConnections.remove(clientChannel);
-        if (handler != null && handler.getBackend() != null) {
-            handler.getBackend().decrementConnections();
+    // Routes the client if both a global slot and a backend with room are free. Called by the
+    // acceptors and by the admission queue as slots open up.
+    private boolean tryStart(SocketChannel clientChannel, ConnectionContext context, EventLoop eventLoop) {
+        if (!admissionQueue.tryAcquire()) {
+            return false;
+        }
+        Backend backend = selectWithCapacity(context, List.of());
+        if (backend == null) {
+            admissionQueue.cancelAcquire();
+            return false;
+        }
+
+        FlightRecorderEvents.backendSelected(context, backend, algorithm.getName(), 1);
+        metrics.forBackend(backend).recordAccepted();
+        if (connectionThreadFactory != null) {
+            startBlockingConnection(clientChannel, context, backend);
+        } else {
+            startEventLoopConnection(clientChannel, context, backend,
+                    eventLoop != null ? eventLoop : eventLoops.next());
+        }
+        logger.debug("Accepted connection, routing to backend: {}", backend);
+        return true;
+    }
+
+    // Returns the algorithm's choice with a connection slot already taken on it. Backends at
+    // their limit are skipped the same way fail-over skips failed ones, so algorithm caches
+    // stay valid.
+    private Backend selectWithCapacity(ConnectionContext context, List<Backend> excluded) {
+        BackendSnapshot snapshot = backendPool.getSnapshot();
+        List<Backend> skipped = excluded;
+        for (int i = 0; i <= snapshot.getHealthyCount(); i++) {
+            Backend backend = algorithm.select(snapshot.excluding(skipped), context);
+            if (backend == null || backend.tryIncrementConnections()) {
+                return backend;
+            }
+            if (skipped == excluded) {
+                skipped = new ArrayList<>(excluded);
+            }
+            skipped.add(backend);
+        }
+        return null;
+    }
+
+    private Backend failover(ConnectionContext context, List<Backend> failed) {
+        Backend next = selectWithCapacity(context, failed);
+        if (next != null) {
+            FlightRecorderEvents.backendSelected(context, next, algorithm.getName(), failed.size() + 1);
+        }
+        return next;
+    }
+
+    private void startEventLoopConnection(SocketChannel clientChannel, ConnectionContext context,
+                                          Backend backend, EventLoop eventLoop) {
+        long id = activeConnections.reserve(eventLoop.getIndex());
+        ConnectionHandler handler = new ConnectionHandler(
+                clientChannel, context, backend, eventLoop, handlerContext, () -> onConnectionClosed(id));
+        activeConnections.set(id, handler);
+        eventLoop.execute(handler::start);
+    }
+
+    private void startBlockingConnection(SocketChannel clientChannel, ConnectionContext context, Backend backend) {
+        // Virtual threads have no home loop; a random partition spreads the locks just as well.
+        long id = activeConnections.reserve(ThreadLocalRandom.current().nextInt(activeConnections.partitions()));
+        BlockingConnectionHandler handler = new BlockingConnectionHandler(
+                clientChannel, context, backend, connectionThreadFactory, handlerContext, () -> onConnectionClosed(id));
+        activeConnections.set(id, handler);
+        connectionThreadFactory.newThread(handler).start();
+    }
+
+    private void onConnectionClosed(long id) {
+        Connection handler = activeConnections.remove(id);
+        if (handler != null) {
+            if (handler.getBackend() != null) {
+                handler.getBackend().decrementConnections();
+            }
+            admissionQueue.release();
         }
     }
 
     public int getActiveConnectionsCount() {
         return activeConnections.size();
     }
+
+    public int getLocalPort() {
+        return acceptors.get(0).getLocalPort();
+    }
 }
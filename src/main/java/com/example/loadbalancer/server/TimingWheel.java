@@ -0,0 +1,155 @@
+package com.example.loadbalancer.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Hashed timing wheel: timeouts hash into one of a power-of-two number of buckets by their
+// deadline tick, so scheduling and cancelling are O(1) linked-list operations no matter how
+// many are pending. Deadlines further out than one revolution simply stay in their bucket until
+// the wheel comes round to the right tick. Resolution is one tick; timeouts never fire early.
+//
+// Not thread-safe: the owner (an event loop or the timer thread) drives it with its own clock.
+public final class TimingWheel {
+
+    static final long DEFAULT_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final long tickNanos;
+    private final Timeout[] buckets;
+    private final int mask;
+    private final long startNanos;
+    private final List<Timeout> expired = new ArrayList<>();
+    private long processedTick;
+    private int size;
+
+    public TimingWheel(long tickNanos, int wheelSize, long nowNanos) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickNanos = tickNanos;
+        this.buckets = new Timeout[wheelSize];
+        this.mask = wheelSize - 1;
+        this.startNanos = nowNanos;
+    }
+
+    public Timeout schedule(Runnable task, long delayNanos, long nowNanos) {
+        // Round up so a timeout fires no earlier than asked, and never into a tick already run.
+        long deadlineTick = Math.max(processedTick + 1, (nowNanos + delayNanos - startNanos + tickNanos - 1) / tickNanos);
+        Timeout timeout = new Timeout(this, task, deadlineTick);
+        link(timeout);
+        return timeout;
+    }
+
+    // Runs every timeout whose tick has passed. Each bucket is visited at most once, so a loop
+    // that stalled for several revolutions catches up in one pass.
+    public void advance(long nowNanos) {
+        long targetTick = (nowNanos - startNanos) / tickNanos;
+        if (targetTick <= processedTick) {
+            return;
+        }
+        if (size == 0) {
+            processedTick = targetTick;
+            return;
+        }
+
+        long ticks = Math.min(targetTick - processedTick, buckets.length);
+        for (long tick = processedTick + 1; tick <= processedTick + ticks; tick++) {
+            Timeout timeout = buckets[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.deadlineTick <= targetTick) {
+                    unlink(timeout);
+                    expired.add(timeout);
+                }
+                timeout = next;
+            }
+        }
+        // Tasks run after the sweep so any timeouts they schedule land in future ticks.
+        processedTick = targetTick;
+        try {
+            for (int i = 0; i < expired.size(); i++) {
+                Timeout timeout = expired.get(i);
+                // An earlier task in this batch may have cancelled it.
+                if (!timeout.cancelled) {
+                    timeout.task.run();
+                }
+            }
+        } finally {
+            expired.clear();
+        }
+    }
+
+    // Time until the earliest non-empty bucket comes due, capped at `maxNanos`.
+    public long nanosUntilNextTimeout(long nowNanos, long maxNanos) {
+        if (size == 0) {
+            return maxNanos;
+        }
+        long ticks = Math.min(buckets.length, maxNanos / tickNanos + 1);
+        for (long tick = processedTick + 1; tick <= processedTick + ticks; tick++) {
+            if (buckets[(int) (tick & mask)] != null) {
+                return Math.max(0, Math.min(maxNanos, startNanos + tick * tickNanos - nowNanos));
+            }
+        }
+        return maxNanos;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void link(Timeout timeout) {
+        int index = (int) (timeout.deadlineTick & mask);
+        Timeout head = buckets[index];
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        buckets[index] = timeout;
+        timeout.linked = true;
+        size++;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[(int) (timeout.deadlineTick & mask)] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.linked = false;
+        size--;
+    }
+
+    public static final class Timeout {
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final long deadlineTick;
+        private Timeout prev;
+        private Timeout next;
+        private boolean linked;
+        private boolean cancelled;
+
+        private Timeout(TimingWheel wheel, Runnable task, long deadlineTick) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        // Owner thread only. A no-op once the timeout has fired or been cancelled.
+        public void cancel() {
+            cancelled = true;
+            if (linked) {
+                wheel.unlink(this);
+            }
+        }
+
+        public boolean isPending() {
+            return linked;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.loadbalancer.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// A thread driving a TimingWheel, for handlers that have no event loop of their own (the
+// thread-per-connection model). Like EventLoop, timeouts are armed and cancelled on the timer
+// thread only; other threads hand work to it through execute().
+final class WheelTimer implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WheelTimer.class);
+    private static final long MAX_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final TimingWheel wheel =
+            new TimingWheel(TimingWheel.DEFAULT_TICK_NANOS, TimingWheel.DEFAULT_WHEEL_SIZE, System.nanoTime());
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    WheelTimer(String name) {
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    boolean inTimerThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    void execute(Runnable task) {
+        tasks.add(task);
+        if (!inTimerThread()) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    // Timer thread only.
+    TimingWheel.Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return wheel.schedule(() -> runSafely(task), unit.toNanos(delay), System.nanoTime());
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                runSafely(task);
+            }
+            wheel.advance(System.nanoTime());
+            if (tasks.isEmpty()) {
+                LockSupport.parkNanos(this, wheel.nanosUntilNextTimeout(System.nanoTime(), MAX_PARK_NANOS));
+            }
+        }
+    }
+
+    void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            logger.error("Error running task on {}", thread.getName(), e);
+        }
+    }
+}
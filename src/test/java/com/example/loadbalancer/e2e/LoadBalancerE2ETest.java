@@ -14,7 +14,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -123,6 +127,73 @@ class LoadBalancerE2ETest {
         assertTrue(totalConnections >= numConnections);
     }
 
+    @Test
+    void testLoadBalancer_HoldsManyConcurrentConnections() throws Exception {
+        int loadBalancerPort = loadBalancerServer.getLocalPort();
+        int numConnections = 50;
+        List<Socket> sockets = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < numConnections; i++) {
+                Socket socket = new Socket("localhost", loadBalancerPort);
+                socket.setSoTimeout(5000);
+                sockets.add(socket);
+            }
+
+            for (int i = 0; i < numConnections; i++) {
+                byte[] message = ("hello-" + i).getBytes(StandardCharsets.UTF_8);
+                OutputStream out = sockets.get(i).getOutputStream();
+                out.write(message);
+                out.flush();
+
+                byte[] echoed = readFully(sockets.get(i).getInputStream(), message.length);
+                assertArrayEquals(message, echoed);
+            }
+
+            assertTrue(loadBalancerServer.getActiveConnectionsCount() >= numConnections);
+        } finally {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> loadBalancerServer.getActiveConnectionsCount() == 0);
+    }
+
+    @Test
+    void testLoadBalancer_SmallMessageRoundTrips() throws Exception {
+        int roundTrips = 2000;
+
+        try (Socket socket = new Socket("localhost", loadBalancerServer.getLocalPort())) {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(5000);
+            OutputStream out = socket.getOutputStream();
+            InputStream in = socket.getInputStream();
+
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                for (int i = 0; i < roundTrips; i++) {
+                    out.write(i & 0x7f);
+                    out.flush();
+                    assertEquals(i & 0x7f, in.read());
+                }
+            });
+        }
+    }
+
+    @Test
+    void testLoadBalancer_PropagatesHalfClose() throws Exception {
+        byte[] message = "last words".getBytes(StandardCharsets.UTF_8);
+
+        try (Socket socket = new Socket("localhost", loadBalancerServer.getLocalPort())) {
+            socket.setSoTimeout(5000);
+            socket.getOutputStream().write(message);
+            socket.shutdownOutput();
+
+            assertArrayEquals(message, socket.getInputStream().readAllBytes());
+        }
+    }
+
     @Test
     void testLoadBalancer_RemovesUnhealthyBackend() throws Exception {
         int loadBalancerPort = properties.getPort();
@@ -164,8 +235,17 @@ class LoadBalancerE2ETest {
         } catch (IOException e) {
         }
     }
-}
-
-
-
 
+    private static byte[] readFully(InputStream in, int length) throws IOException {
+        byte[] data = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            int read = in.read(data, offset, length - offset);
+            if (read == -1) {
+                throw new IOException("Stream closed after " + offset + " bytes");
+            }
+            offset += read;
+        }
+        return data;
+    }
+}
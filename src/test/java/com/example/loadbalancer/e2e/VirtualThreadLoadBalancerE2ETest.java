@@ -0,0 +1,97 @@
+package com.example.loadbalancer.e2e;
+
+import com.example.loadbalancer.LoadBalancerApplication;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.server.TcpLoadBalancerServer;
+import com.example.loadbalancer.util.MockBackendServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = LoadBalancerApplication.class, properties = "loadbalancer.threading-model=virtual")
+@ActiveProfiles("test")
+class VirtualThreadLoadBalancerE2ETest {
+
+    @Autowired
+    private TcpLoadBalancerServer loadBalancerServer;
+
+    @Autowired
+    private BackendPool backendPool;
+
+    private List<MockBackendServer> mockServers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (int port : new int[]{19001, 19002}) {
+            MockBackendServer server = new MockBackendServer(port);
+            server.start();
+            mockServers.add(server);
+        }
+
+        await().atMost(10, TimeUnit.SECONDS)
+                .pollInterval(200, TimeUnit.MILLISECONDS)
+                .until(() -> backendPool.getHealthyBackendsCount() == 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mockServers.forEach(MockBackendServer::stop);
+    }
+
+    @Test
+    void testLoadBalancer_EchoesThroughVirtualThreads() throws Exception {
+        int numConnections = 20;
+        List<Socket> sockets = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < numConnections; i++) {
+                Socket socket = new Socket("localhost", loadBalancerServer.getLocalPort());
+                socket.setSoTimeout(5000);
+                sockets.add(socket);
+            }
+
+            for (int i = 0; i < numConnections; i++) {
+                OutputStream out = sockets.get(i).getOutputStream();
+                InputStream in = sockets.get(i).getInputStream();
+                out.write(i);
+                out.flush();
+                assertEquals(i, in.read());
+            }
+        } finally {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> loadBalancerServer.getActiveConnectionsCount() == 0);
+    }
+
+    @Test
+    void testLoadBalancer_PropagatesHalfClose() throws Exception {
+        byte[] message = "last words".getBytes(StandardCharsets.UTF_8);
+
+        try (Socket socket = new Socket("localhost", loadBalancerServer.getLocalPort())) {
+            socket.setSoTimeout(5000);
+            socket.getOutputStream().write(message);
+            socket.shutdownOutput();
+
+            assertArrayEquals(message, socket.getInputStream().readAllBytes());
+        }
+    }
+}
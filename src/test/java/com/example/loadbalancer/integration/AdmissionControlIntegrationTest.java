@@ -0,0 +1,184 @@
+package com.example.loadbalancer.integration;
+
+import com.example.loadbalancer.config.LoadBalancerProperties;
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.RoundRobinAlgorithm;
+import com.example.loadbalancer.health.HealthChecker;
+import com.example.loadbalancer.metrics.LoadBalancerMetrics;
+import com.example.loadbalancer.server.TcpLoadBalancerServer;
+import com.example.loadbalancer.util.MockBackendServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlIntegrationTest {
+
+    private MockBackendServer first;
+    private MockBackendServer second;
+    private TcpLoadBalancerServer server;
+    private BackendPool pool;
+    private LoadBalancerMetrics metrics;
+    private final List<Socket> sockets = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        first = new MockBackendServer();
+        first.start();
+        second = new MockBackendServer();
+        second.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        if (server != null) {
+            server.stop();
+        }
+        first.stop();
+        second.stop();
+    }
+
+    @Test
+    void testGlobalLimit_RejectsWithResetWhenQueueDisabled() throws Exception {
+        LoadBalancerProperties properties = properties(backend(first.getPort(), 0));
+        properties.setMaxConnections(2);
+        properties.setAdmissionQueueSize(0);
+        startServer(properties);
+
+        assertEchoes(connect());
+        assertEchoes(connect());
+
+        Socket rejected = connect();
+        assertThrows(SocketException.class, () -> rejected.getInputStream().read());
+        assertEquals(1, metrics.getRejected());
+    }
+
+    @Test
+    void testGlobalLimit_QueuedClientAdmittedWhenSlotFrees() throws Exception {
+        LoadBalancerProperties properties = properties(backend(first.getPort(), 0));
+        properties.setMaxConnections(1);
+        properties.setAdmissionTimeoutMillis(5000);
+        startServer(properties);
+
+        Socket active = connect();
+        assertEchoes(active);
+
+        Socket waiting = connect();
+        waiting.setSoTimeout(300);
+        waiting.getOutputStream().write(7);
+        assertThrows(SocketTimeoutException.class, () -> waiting.getInputStream().read());
+        assertEquals(1.0, metrics.getRegistry().get("loadbalancer.admission.waiting").gauge().value());
+
+        active.close();
+
+        waiting.setSoTimeout(5000);
+        assertEquals(7, waiting.getInputStream().read());
+        assertEquals(1, metrics.getRegistry().get("loadbalancer.admission.wait").timer().count());
+        assertEquals(0, metrics.getRejected());
+    }
+
+    @Test
+    void testGlobalLimit_QueuedClientResetAfterDeadline() throws Exception {
+        LoadBalancerProperties properties = properties(backend(first.getPort(), 0));
+        properties.setMaxConnections(1);
+        properties.setAdmissionTimeoutMillis(300);
+        startServer(properties);
+
+        assertEchoes(connect());
+
+        Socket waiting = connect();
+        long start = System.nanoTime();
+        assertThrows(SocketException.class, () -> waiting.getInputStream().read());
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(waitedMillis >= 250 && waitedMillis < 3000, "reset after " + waitedMillis + "ms");
+        assertEquals(1, metrics.getRejected());
+    }
+
+    @Test
+    void testBackendLimit_FullBackendSkipped() throws Exception {
+        LoadBalancerProperties properties = properties(backend(first.getPort(), 1), backend(second.getPort(), 0));
+        startServer(properties);
+
+        for (int i = 0; i < 4; i++) {
+            assertEchoes(connect());
+        }
+
+        Backend capped = backendOnPort(first.getPort());
+        assertEquals(1, capped.getActiveConnections());
+        assertEquals(3, backendOnPort(second.getPort()).getActiveConnections());
+    }
+
+    @Test
+    void testBackendLimit_AllFullQueuesClient() throws Exception {
+        LoadBalancerProperties properties = properties(backend(first.getPort(), 1), backend(second.getPort(), 1));
+        properties.setAdmissionTimeoutMillis(5000);
+        startServer(properties);
+
+        Socket a = connect();
+        assertEchoes(a);
+        assertEchoes(connect());
+
+        Socket waiting = connect();
+        waiting.setSoTimeout(300);
+        waiting.getOutputStream().write(9);
+        assertThrows(SocketTimeoutException.class, () -> waiting.getInputStream().read());
+
+        a.close();
+
+        waiting.setSoTimeout(5000);
+        assertEquals(9, waiting.getInputStream().read());
+    }
+
+    private LoadBalancerProperties properties(LoadBalancerProperties.BackendConfig... backends) {
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.setPort(0);
+        properties.setEventLoopThreads(1);
+        properties.setHealthCheckIntervalSeconds(60);
+        properties.setBackends(List.of(backends));
+        return properties;
+    }
+
+    private LoadBalancerProperties.BackendConfig backend(int port, int maxConnections) {
+        LoadBalancerProperties.BackendConfig config = new LoadBalancerProperties.BackendConfig();
+        config.setHost("localhost");
+        config.setPort(port);
+        config.setMaxConnections(maxConnections);
+        return config;
+    }
+
+    private void startServer(LoadBalancerProperties properties) throws Exception {
+        pool = new BackendPool();
+        metrics = new LoadBalancerMetrics(pool);
+        server = new TcpLoadBalancerServer(
+                properties, pool, new RoundRobinAlgorithm(), new HealthChecker(pool), metrics);
+        server.start();
+    }
+
+    private Socket connect() throws Exception {
+        Socket socket = new Socket("localhost", server.getLocalPort());
+        socket.setSoTimeout(5000);
+        sockets.add(socket);
+        return socket;
+    }
+
+    private static void assertEchoes(Socket socket) throws Exception {
+        socket.getOutputStream().write(1);
+        assertEquals(1, socket.getInputStream().read());
+    }
+
+    private Backend backendOnPort(int port) {
+        return pool.getAllBackends().stream().filter(b -> b.getPort() == port).findFirst().orElseThrow();
+    }
+}
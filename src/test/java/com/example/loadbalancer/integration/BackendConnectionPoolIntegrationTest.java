@@ -0,0 +1,140 @@
+package com.example.loadbalancer.integration;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.server.BackendConnectionPool;
+import com.example.loadbalancer.util.MockBackendServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.SocketChannel;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackendConnectionPoolIntegrationTest {
+
+    private MockBackendServer mockServer;
+    private BackendConnectionPool pool;
+    private Backend backend;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockServer = new MockBackendServer();
+        mockServer.start();
+        backend = new Backend("localhost", mockServer.getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.stop();
+        }
+        mockServer.stop();
+    }
+
+    @Test
+    void testPrewarmsToMinIdle() throws Exception {
+        pool = new BackendConnectionPool(3, 8, 60000, 1000);
+        pool.register(backend);
+        pool.start(50);
+
+        awaitTrue(() -> pool.getIdleCount(backend) == 3);
+    }
+
+    @Test
+    void testAcquire_ReturnsConnectedChannel() throws Exception {
+        pool = new BackendConnectionPool(2, 8, 60000, 1000);
+        pool.register(backend);
+        pool.start(50);
+        awaitTrue(() -> pool.getIdleCount(backend) == 2);
+
+        try (SocketChannel channel = pool.acquire(backend)) {
+            assertNotNull(channel);
+            assertTrue(channel.isConnected());
+
+            channel.configureBlocking(true);
+            channel.socket().setSoTimeout(5000);
+            channel.write(ByteBuffer.wrap(new byte[]{42}));
+            ByteBuffer reply = ByteBuffer.allocate(1);
+            channel.read(reply);
+            assertEquals(42, reply.get(0));
+        }
+
+        // The pool tops itself back up after handing a connection out.
+        awaitTrue(() -> pool.getIdleCount(backend) == 2);
+    }
+
+    @Test
+    void testAcquire_UnregisteredBackend() {
+        pool = new BackendConnectionPool(2, 8, 60000, 1000);
+        assertNull(pool.acquire(new Backend("localhost", 19005)));
+    }
+
+    @Test
+    void testEvictsConnectionsClosedByBackend() throws Exception {
+        pool = new BackendConnectionPool(2, 8, 60000, 1000);
+        pool.register(backend);
+        pool.start(50);
+        awaitTrue(() -> pool.getIdleCount(backend) == 2);
+
+        backend.setHealthy(false);
+        mockServer.stop();
+
+        awaitTrue(() -> pool.getIdleCount(backend) == 0);
+        assertNull(pool.acquire(backend));
+    }
+
+    @Test
+    void testEvictsExpiredConnections() throws Exception {
+        pool = new BackendConnectionPool(2, 8, 100, 1000);
+        pool.register(backend);
+        pool.start(50);
+        awaitTrue(() -> pool.getIdleCount(backend) == 2);
+
+        backend.setHealthy(false);
+
+        awaitTrue(() -> pool.getIdleCount(backend) == 0);
+    }
+
+    @Test
+    void testServerFirstBackend_PoolDisabled() throws Exception {
+        try (ServerSocket greeter = new ServerSocket(0)) {
+            Thread acceptor = new Thread(() -> {
+                while (!greeter.isClosed()) {
+                    try {
+                        Socket socket = greeter.accept();
+                        socket.getOutputStream().write("220 ready\r\n".getBytes(StandardCharsets.US_ASCII));
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            acceptor.start();
+            Backend greeting = new Backend("localhost", greeter.getLocalPort());
+            pool = new BackendConnectionPool(2, 8, 60000, 1000);
+            pool.register(greeting);
+            pool.start(50);
+
+            awaitTrue(() -> pool.isDisabled(greeting));
+            assertNull(pool.acquire(greeting));
+            assertEquals(0, pool.getIdleCount(greeting));
+        }
+    }
+
+    private void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within timeout");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
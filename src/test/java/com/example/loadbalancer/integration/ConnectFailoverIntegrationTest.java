@@ -0,0 +1,134 @@
+package com.example.loadbalancer.integration;
+
+import com.example.loadbalancer.config.LoadBalancerProperties;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.RoundRobinAlgorithm;
+import com.example.loadbalancer.health.HealthChecker;
+import com.example.loadbalancer.metrics.LoadBalancerMetrics;
+import com.example.loadbalancer.server.TcpLoadBalancerServer;
+import com.example.loadbalancer.util.MockBackendServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectFailoverIntegrationTest {
+
+    private MockBackendServer mockServer;
+    private TcpLoadBalancerServer server;
+    private LoadBalancerMetrics metrics;
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockServer = new MockBackendServer();
+        mockServer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (server != null) {
+            server.stop();
+        }
+        mockServer.stop();
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    @Test
+    void testFailover_RefusedBackend() throws Exception {
+        startServer("event-loop", refusedPort());
+        assertEveryConnectionEchoes(20);
+
+        assertEquals(20, metrics.getTotal().getAccepted());
+        assertTrue(metrics.getTotal().getConnectFailures() >= 10);
+        assertEquals(0, metrics.getRejected());
+    }
+
+    @Test
+    void testFailover_RefusedBackend_VirtualThreads() throws Exception {
+        startServer("virtual", refusedPort());
+        assertEveryConnectionEchoes(20);
+    }
+
+    @Test
+    void testFailover_ConnectTimeout() throws Exception {
+        startServer("event-loop", blackholePort());
+
+        long start = System.nanoTime();
+        assertEveryConnectionEchoes(4);
+        assertTrue(System.nanoTime() - start < 3_000_000_000L);
+    }
+
+    @Test
+    void testFailover_ConnectTimeout_VirtualThreads() throws Exception {
+        startServer("virtual", blackholePort());
+        assertEveryConnectionEchoes(4);
+    }
+
+    private void startServer(String threadingModel, int deadPort) throws Exception {
+        LoadBalancerProperties.BackendConfig dead = new LoadBalancerProperties.BackendConfig();
+        dead.setHost("localhost");
+        dead.setPort(deadPort);
+        LoadBalancerProperties.BackendConfig live = new LoadBalancerProperties.BackendConfig();
+        live.setHost("localhost");
+        live.setPort(mockServer.getPort());
+
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.setPort(0);
+        properties.setThreadingModel(threadingModel);
+        properties.setEventLoopThreads(1);
+        properties.setConnectTimeoutMillis(200);
+        properties.setConnectAttempts(2);
+        // Keep both health mechanisms out of the way so every failure has to be retried.
+        properties.setHealthCheckIntervalSeconds(60);
+        properties.setEjectionConsecutiveFailures(0);
+        properties.setBackends(List.of(dead, live));
+
+        BackendPool pool = new BackendPool();
+        metrics = new LoadBalancerMetrics(pool);
+        server = new TcpLoadBalancerServer(
+                properties, pool, new RoundRobinAlgorithm(), new HealthChecker(pool), metrics);
+        server.start();
+    }
+
+    private void assertEveryConnectionEchoes(int connections) throws Exception {
+        for (int i = 0; i < connections; i++) {
+            try (Socket socket = new Socket("localhost", server.getLocalPort())) {
+                socket.setSoTimeout(5000);
+                socket.getOutputStream().write(i);
+                assertEquals(i, socket.getInputStream().read());
+            }
+        }
+    }
+
+    // A port that was just free; nothing listens on it, so connects are refused.
+    private int refusedPort() throws Exception {
+        try (ServerSocket probe = new ServerSocket(0)) {
+            return probe.getLocalPort();
+        }
+    }
+
+    // A listener with a full accept queue drops SYNs, so connects to it hang until they time out.
+    private int blackholePort() throws Exception {
+        ServerSocket listener = new ServerSocket(0, 1);
+        resources.add(listener);
+        for (int i = 0; i < 4; i++) {
+            SocketChannel filler = SocketChannel.open();
+            filler.configureBlocking(false);
+            filler.connect(new InetSocketAddress("localhost", listener.getLocalPort()));
+            resources.add(filler);
+        }
+        return listener.getLocalPort();
+    }
+}
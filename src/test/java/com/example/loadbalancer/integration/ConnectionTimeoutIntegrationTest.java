@@ -0,0 +1,237 @@
+package com.example.loadbalancer.integration;
+
+import com.example.loadbalancer.config.LoadBalancerProperties;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.RoundRobinAlgorithm;
+import com.example.loadbalancer.health.HealthChecker;
+import com.example.loadbalancer.server.TcpLoadBalancerServer;
+import com.example.loadbalancer.util.MockBackendServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionTimeoutIntegrationTest {
+
+    private MockBackendServer mockServer;
+    private TcpLoadBalancerServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockServer = new MockBackendServer();
+        mockServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+        mockServer.stop();
+    }
+
+    @Test
+    void testClientIdleTimeout_ClosesSilentConnection() throws Exception {
+        assertClientIdleTimeout_ClosesSilentConnection("event-loop");
+    }
+
+    @Test
+    void testClientIdleTimeout_ClosesSilentConnection_VirtualThreads() throws Exception {
+        assertClientIdleTimeout_ClosesSilentConnection("virtual");
+    }
+
+    private void assertClientIdleTimeout_ClosesSilentConnection(String threadingModel) throws Exception {
+        startServer(threadingModel, 300, 0, 0);
+
+        try (Socket socket = connect()) {
+            socket.getOutputStream().write(1);
+            assertEquals(1, socket.getInputStream().read());
+
+            long start = System.nanoTime();
+            assertEquals(-1, socket.getInputStream().read());
+            assertTrue(System.nanoTime() - start >= 250_000_000L);
+        }
+        awaitNoActiveConnections();
+    }
+
+    @Test
+    void testBackendIdleTimeout_ClosesWhenBackendNeverAnswers() throws Exception {
+        assertBackendIdleTimeout_ClosesWhenBackendNeverAnswers("event-loop");
+    }
+
+    @Test
+    void testBackendIdleTimeout_ClosesWhenBackendNeverAnswers_VirtualThreads() throws Exception {
+        assertBackendIdleTimeout_ClosesWhenBackendNeverAnswers("virtual");
+    }
+
+    private void assertBackendIdleTimeout_ClosesWhenBackendNeverAnswers(String threadingModel) throws Exception {
+        startServer(threadingModel, 0, 300, 0);
+
+        // The echo backend only speaks when spoken to, so a silent client leaves it idle too.
+        try (Socket socket = connect()) {
+            assertEquals(-1, socket.getInputStream().read());
+        }
+        awaitNoActiveConnections();
+    }
+
+    @Test
+    void testIdleTimeout_ActiveConnectionStaysOpen() throws Exception {
+        assertIdleTimeout_ActiveConnectionStaysOpen("event-loop");
+    }
+
+    @Test
+    void testIdleTimeout_ActiveConnectionStaysOpen_VirtualThreads() throws Exception {
+        assertIdleTimeout_ActiveConnectionStaysOpen("virtual");
+    }
+
+    private void assertIdleTimeout_ActiveConnectionStaysOpen(String threadingModel) throws Exception {
+        startServer(threadingModel, 400, 400, 0);
+
+        try (Socket socket = connect()) {
+            OutputStream out = socket.getOutputStream();
+            InputStream in = socket.getInputStream();
+            for (int i = 0; i < 12; i++) {
+                out.write(i);
+                assertEquals(i, in.read());
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    @Test
+    void testClientIdleTimeout_SilentClientReceivingStreamStaysOpen() throws Exception {
+        assertClientIdleTimeout_SilentClientReceivingStreamStaysOpen("event-loop");
+    }
+
+    @Test
+    void testClientIdleTimeout_SilentClientReceivingStreamStaysOpen_VirtualThreads() throws Exception {
+        assertClientIdleTimeout_SilentClientReceivingStreamStaysOpen("virtual");
+    }
+
+    // The client never sends a byte, but data flowing to it for four idle timeouts counts as
+    // activity on its side.
+    private void assertClientIdleTimeout_SilentClientReceivingStreamStaysOpen(String threadingModel)
+            throws Exception {
+        int chunks = 24;
+        try (ServerSocket streamingBackend = new ServerSocket(0)) {
+            // Every connection gets the stream, health probes included.
+            Thread acceptor = new Thread(() -> {
+                while (!streamingBackend.isClosed()) {
+                    try {
+                        Socket backend = streamingBackend.accept();
+                        new Thread(() -> stream(backend, chunks)).start();
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            acceptor.start();
+            startServer(threadingModel, streamingBackend.getLocalPort(), 300, 0, 0);
+
+            try (Socket socket = connect()) {
+                InputStream in = socket.getInputStream();
+                for (int i = 0; i < chunks; i++) {
+                    assertEquals(i, in.read());
+                }
+                assertEquals(-1, in.read());
+            }
+        }
+    }
+
+    private static void stream(Socket backend, int chunks) {
+        try (backend) {
+            OutputStream out = backend.getOutputStream();
+            for (int i = 0; i < chunks; i++) {
+                out.write(i);
+                out.flush();
+                Thread.sleep(50);
+            }
+        } catch (IOException | InterruptedException e) {
+            // A health probe hanging up early; the client's assertions catch a cut stream.
+        }
+    }
+
+    @Test
+    void testMaxLifetime_ClosesBusyConnection() throws Exception {
+        assertMaxLifetime_ClosesBusyConnection("event-loop");
+    }
+
+    @Test
+    void testMaxLifetime_ClosesBusyConnection_VirtualThreads() throws Exception {
+        assertMaxLifetime_ClosesBusyConnection("virtual");
+    }
+
+    private void assertMaxLifetime_ClosesBusyConnection(String threadingModel) throws Exception {
+        startServer(threadingModel, 0, 0, 500);
+
+        try (Socket socket = connect()) {
+            OutputStream out = socket.getOutputStream();
+            InputStream in = socket.getInputStream();
+            long start = System.nanoTime();
+            int echoed = 0;
+            try {
+                while (System.nanoTime() - start < 3_000_000_000L) {
+                    out.write(1);
+                    if (in.read() == -1) {
+                        break;
+                    }
+                    echoed++;
+                    Thread.sleep(50);
+                }
+            } catch (IOException e) {
+                // A write racing the close may see a reset instead of end of stream.
+            }
+            long elapsed = System.nanoTime() - start;
+            assertTrue(echoed > 0);
+            assertTrue(elapsed >= 450_000_000L && elapsed < 2_000_000_000L, "closed after " + elapsed + "ns");
+        }
+    }
+
+    private void startServer(String threadingModel, long clientIdleMillis, long backendIdleMillis,
+                             long maxLifetimeMillis) throws Exception {
+        startServer(threadingModel, mockServer.getPort(), clientIdleMillis, backendIdleMillis, maxLifetimeMillis);
+    }
+
+    private void startServer(String threadingModel, int backendPort, long clientIdleMillis, long backendIdleMillis,
+                             long maxLifetimeMillis) throws Exception {
+        LoadBalancerProperties.BackendConfig backend = new LoadBalancerProperties.BackendConfig();
+        backend.setHost("localhost");
+        backend.setPort(backendPort);
+
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.setPort(0);
+        properties.setThreadingModel(threadingModel);
+        properties.setEventLoopThreads(1);
+        properties.setHealthCheckIntervalSeconds(60);
+        properties.setClientIdleTimeoutMillis(clientIdleMillis);
+        properties.setBackendIdleTimeoutMillis(backendIdleMillis);
+        properties.setMaxConnectionLifetimeMillis(maxLifetimeMillis);
+        properties.setBackends(List.of(backend));
+
+        BackendPool pool = new BackendPool();
+        server = new TcpLoadBalancerServer(properties, pool, new RoundRobinAlgorithm(), new HealthChecker(pool));
+        server.start();
+    }
+
+    private Socket connect() throws Exception {
+        Socket socket = new Socket("localhost", server.getLocalPort());
+        socket.setSoTimeout(5000);
+        return socket;
+    }
+
+    private void awaitNoActiveConnections() throws InterruptedException {
+        for (int i = 0; i < 50 && server.getActiveConnectionsCount() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, server.getActiveConnectionsCount());
+    }
+}
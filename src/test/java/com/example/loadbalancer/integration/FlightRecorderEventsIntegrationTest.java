@@ -0,0 +1,144 @@
+package com.example.loadbalancer.integration;
+
+import com.example.loadbalancer.config.LoadBalancerProperties;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.RoundRobinAlgorithm;
+import com.example.loadbalancer.health.HealthChecker;
+import com.example.loadbalancer.metrics.LoadBalancerMetrics;
+import com.example.loadbalancer.server.TcpLoadBalancerServer;
+import com.example.loadbalancer.util.MockBackendServer;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsIntegrationTest {
+
+    private static final String PREFIX = "com.example.loadbalancer.";
+
+    private MockBackendServer mockServer;
+    private TcpLoadBalancerServer server;
+    private LoadBalancerMetrics metrics;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockServer = new MockBackendServer();
+        mockServer.start();
+
+        LoadBalancerProperties.BackendConfig backend = new LoadBalancerProperties.BackendConfig();
+        backend.setHost("localhost");
+        backend.setPort(mockServer.getPort());
+
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.setPort(0);
+        properties.setEventLoopThreads(1);
+        properties.setHealthCheckIntervalSeconds(60);
+        properties.setBackends(List.of(backend));
+
+        BackendPool pool = new BackendPool();
+        metrics = new LoadBalancerMetrics(pool);
+        server = new TcpLoadBalancerServer(
+                properties, pool, new RoundRobinAlgorithm(), new HealthChecker(pool), metrics);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+        mockServer.stop();
+    }
+
+    @Test
+    void testEventsRecordedWhenEnabled() throws Exception {
+        Path dump = tempDir.resolve("loadbalancer.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PREFIX + "ConnectionAccepted");
+            recording.enable(PREFIX + "BackendSelected");
+            recording.enable(PREFIX + "BackendConnected");
+            recording.enable(PREFIX + "ConnectionClosed");
+            recording.start();
+
+            try (Socket socket = new Socket("localhost", server.getLocalPort())) {
+                socket.setSoTimeout(5000);
+                socket.getOutputStream().write(new byte[] {1, 2, 3, 4, 5});
+                byte[] echoed = socket.getInputStream().readNBytes(5);
+                assertEquals(5, echoed.length);
+            }
+            awaitClosedConnections(1);
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertEquals(1, count(events, "ConnectionAccepted"));
+
+        RecordedEvent selected = only(events, "BackendSelected");
+        assertEquals("localhost:" + mockServer.getPort(), selected.getString("backend"));
+        assertEquals("round-robin", selected.getString("algorithm"));
+        assertEquals(1, selected.getInt("attempt"));
+
+        RecordedEvent connected = only(events, "BackendConnected");
+        assertFalse(connected.getBoolean("warm"));
+        assertTrue(connected.getLong("connectTime") > 0);
+
+        RecordedEvent closed = only(events, "ConnectionClosed");
+        assertEquals(5, closed.getLong("bytesToBackend"));
+        assertEquals(5, closed.getLong("bytesFromBackend"));
+        assertTrue(closed.getLong("connectionDuration") > 0);
+    }
+
+    @Test
+    void testEventsNotRecordedByDefault() throws Exception {
+        Path dump = tempDir.resolve("default.jfr");
+        try (Recording recording = new Recording()) {
+            recording.start();
+            try (Socket socket = new Socket("localhost", server.getLocalPort())) {
+                socket.setSoTimeout(5000);
+                socket.getOutputStream().write(1);
+                assertEquals(1, socket.getInputStream().read());
+            }
+            awaitClosedConnections(1);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertTrue(events.stream().noneMatch(e -> e.getEventType().getName().startsWith(PREFIX)));
+    }
+
+    private void awaitClosedConnections(long expected) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            if (metrics.getRegistry().get("loadbalancer.connection.duration").timer().count() >= expected) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("Connection was not closed in time");
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(PREFIX + name)).count();
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(e -> e.getEventType().getName().equals(PREFIX + name))
+                .toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
@@ -9,6 +9,12 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -87,8 +93,59 @@ class HealthCheckerIntegrationTest {
 
         assertFalse(backend.isHealthy());
     }
-}
 
+    @Test
+    void testHealthCheck_FallThreshold() throws Exception {
+        Backend backend = new Backend("localhost", 19998);
+        pool.addBackend(backend);
 
+        healthChecker.start(1, 1, 1, 2);
 
+        // The first failing probe alone must not take the backend out.
+        Thread.sleep(500);
+        assertTrue(backend.isHealthy());
 
+        await().atMost(5, java.util.concurrent.TimeUnit.SECONDS)
+                .until(() -> !backend.isHealthy());
+    }
+
+    // A listener whose accept queue is full silently drops SYNs, so probes to it hang until
+    // their deadline. Checked one at a time these would take ten timeouts; in parallel, about one.
+    @Test
+    void testHealthCheck_BlackholedBackendsTimeOutInParallel() throws Exception {
+        List<ServerSocket> listeners = new ArrayList<>();
+        List<SocketChannel> fillers = new ArrayList<>();
+        List<Backend> backends = new ArrayList<>();
+        try {
+            for (int i = 0; i < 10; i++) {
+                ServerSocket listener = new ServerSocket(0, 1);
+                listeners.add(listener);
+                for (int j = 0; j < 4; j++) {
+                    SocketChannel filler = SocketChannel.open();
+                    filler.configureBlocking(false);
+                    filler.connect(new InetSocketAddress("localhost", listener.getLocalPort()));
+                    fillers.add(filler);
+                }
+                Backend backend = new Backend("localhost", listener.getLocalPort());
+                pool.addBackend(backend);
+                backends.add(backend);
+            }
+
+            long start = System.nanoTime();
+            healthChecker.start(60, 1);
+
+            await().atMost(5, java.util.concurrent.TimeUnit.SECONDS)
+                    .until(() -> backends.stream().noneMatch(Backend::isHealthy));
+
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            assertTrue(elapsedMillis < 4000, "Sweep took " + elapsedMillis + "ms");
+        } finally {
+            for (SocketChannel filler : fillers) {
+                filler.close();
+            }
+            for (ServerSocket listener : listeners) {
+                listener.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.loadbalancer.integration;
+
+import com.example.loadbalancer.config.LoadBalancerProperties;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.RoundRobinAlgorithm;
+import com.example.loadbalancer.health.HealthChecker;
+import com.example.loadbalancer.server.TcpLoadBalancerServer;
+import com.example.loadbalancer.util.MockBackendServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.Socket;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReusePortIntegrationTest {
+
+    private MockBackendServer mockServer;
+    private TcpLoadBalancerServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockServer = new MockBackendServer();
+        mockServer.start();
+
+        LoadBalancerProperties.BackendConfig backend = new LoadBalancerProperties.BackendConfig();
+        backend.setHost("localhost");
+        backend.setPort(mockServer.getPort());
+
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.setPort(0);
+        properties.setEventLoopThreads(4);
+        properties.setReusePort(true);
+        properties.setBackends(List.of(backend));
+
+        BackendPool pool = new BackendPool();
+        server = new TcpLoadBalancerServer(properties, pool, new RoundRobinAlgorithm(), new HealthChecker(pool));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+        mockServer.stop();
+    }
+
+    @Test
+    void testReusePort_AllListenersForward() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            try (Socket socket = new Socket("localhost", server.getLocalPort())) {
+                socket.setSoTimeout(5000);
+                socket.getOutputStream().write(i);
+                assertEquals(i, socket.getInputStream().read());
+            }
+        }
+    }
+}
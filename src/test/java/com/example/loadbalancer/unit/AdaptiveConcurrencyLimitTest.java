@@ -0,0 +1,104 @@
+package com.example.loadbalancer.unit;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.loadbalancer.core.AdaptiveConcurrencyLimit;
+import com.example.loadbalancer.core.Backend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MILLI = 1_000_000;
+
+    @Test
+    void testSteadyLatencyUnderLoad_LimitGrows() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 1000, 0.2, 1.5);
+
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(10 * MILLI, limit.getLimit());
+        }
+
+        assertTrue(limit.getLimit() > 20, "limit " + limit.getLimit());
+    }
+
+    @Test
+    void testLatencyRise_LimitShrinks() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 2, 1000, 0.2, 1.5);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLI, 100);
+        }
+        int before = limit.getLimit();
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(50 * MILLI, limit.getLimit());
+        }
+
+        assertTrue(limit.getLimit() < before, before + " -> " + limit.getLimit());
+    }
+
+    @Test
+    void testAppLimited_LimitHeld() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 1000, 0.2, 1.5);
+
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(10 * MILLI, 3);
+        }
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void testDrop_BacksOffMultiplicatively() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 2, 1000, 0.2, 1.5);
+
+        limit.onDropped();
+
+        assertEquals(90, limit.getLimit());
+    }
+
+    @Test
+    void testBounds() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(5, 4, 8, 1.0, 1.5);
+        for (int i = 0; i < 100; i++) {
+            limit.onDropped();
+        }
+        assertEquals(4, limit.getLimit());
+
+        for (int i = 0; i < 500; i++) {
+            limit.onSample(MILLI, limit.getLimit());
+        }
+        assertEquals(8, limit.getLimit());
+
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(5, 0, 8, 0.2, 1.5));
+    }
+
+    @Test
+    void testBackend_AdmitsUpToTighterLimit() {
+        Backend backend = new Backend("localhost", 9001);
+        backend.setMaxConnections(10);
+        backend.setConcurrencyLimit(new AdaptiveConcurrencyLimit(3, 2, 100, 0.2, 1.5));
+
+        assertEquals(3, backend.getConnectionLimit());
+        assertTrue(backend.tryIncrementConnections());
+        assertTrue(backend.tryIncrementConnections());
+        assertTrue(backend.tryIncrementConnections());
+        assertFalse(backend.tryIncrementConnections());
+
+        backend.setMaxConnections(2);
+        assertEquals(2, backend.getConnectionLimit());
+    }
+
+    @Test
+    void testBackend_FirstByteAndConnectFailuresFeedLimit() {
+        Backend backend = new Backend("localhost", 9001);
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 2, 100, 0.2, 1.5);
+        backend.setConcurrencyLimit(limit);
+
+        backend.recordFirstByteLatency(5 * MILLI);
+        assertEquals(5.0, limit.getLongRttNanos() / MILLI, 0.001);
+
+        backend.recordConnectFailure();
+        assertEquals(45, limit.getLimit());
+    }
+}
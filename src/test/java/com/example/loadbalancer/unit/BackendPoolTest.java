@@ -5,6 +5,9 @@ import org.junit.jupiter.api.Test;
 
 import com.example.loadbalancer.core.Backend;
 import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.BackendSnapshot;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -76,8 +79,66 @@ class BackendPoolTest {
         Backend notFound = pool.findBackend("localhost", 9999);
         assertNull(notFound);
     }
-}
 
+    @Test
+    void testSnapshot_TracksHealthChanges() {
+        Backend backend1 = new Backend("localhost", 9001);
+        Backend backend2 = new Backend("localhost", 9002);
+        pool.addBackend(backend1);
+        pool.addBackend(backend2);
+
+        BackendSnapshot before = pool.getSnapshot();
+        assertEquals(2, before.getHealthyCount());
+
+        backend1.setHealthy(false);
 
+        BackendSnapshot after = pool.getSnapshot();
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(1, after.getHealthyCount());
+        assertSame(backend2, after.getHealthy(0));
+        assertEquals(2, after.getTotalCount());
+        assertEquals(2, before.getHealthyCount());
+    }
+
+    @Test
+    void testSnapshot_UnchangedWithoutStateChange() {
+        Backend backend = new Backend("localhost", 9001);
+        pool.addBackend(backend);
+
+        BackendSnapshot snapshot = pool.getSnapshot();
+        backend.setHealthy(true);
 
+        assertSame(snapshot, pool.getSnapshot());
+    }
 
+    @Test
+    void testSnapshot_RemovedBackendNoLongerTracked() {
+        Backend backend = new Backend("localhost", 9001);
+        pool.addBackend(backend);
+        pool.removeBackend(backend);
+
+        BackendSnapshot snapshot = pool.getSnapshot();
+        backend.setHealthy(false);
+
+        assertSame(snapshot, pool.getSnapshot());
+        assertEquals(0, snapshot.getTotalCount());
+    }
+
+    @Test
+    void testSnapshot_ExcludingHidesFailedBackends() {
+        Backend backend1 = new Backend("localhost", 9001);
+        Backend backend2 = new Backend("localhost", 9002);
+        pool.addBackend(backend1);
+        pool.addBackend(backend2);
+
+        BackendSnapshot snapshot = pool.getSnapshot();
+        BackendSnapshot excluding = snapshot.excluding(List.of(backend1));
+
+        assertEquals(1, excluding.getHealthyCount());
+        assertEquals(backend2, excluding.getHealthy(0));
+        assertTrue(excluding.isExcluded(backend1));
+        assertSame(snapshot, excluding.getSource());
+        assertEquals(snapshot.getVersion(), excluding.getVersion());
+        assertSame(snapshot, snapshot.excluding(List.of()));
+    }
+}
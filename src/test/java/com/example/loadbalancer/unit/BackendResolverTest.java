@@ -0,0 +1,81 @@
+package com.example.loadbalancer.unit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.discovery.BackendResolver;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackendResolverTest {
+
+    private BackendResolver resolver;
+    private List<Backend> added;
+    private List<Backend> removed;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new BackendResolver();
+        added = new ArrayList<>();
+        removed = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        resolver.stop();
+    }
+
+    @Test
+    void testRegister_SingleBackendIsResolvedOnce() {
+        resolver.register("localhost", 9001, 2, false, added::add, removed::add);
+
+        assertEquals(1, added.size());
+        Backend backend = added.get(0);
+        assertEquals("localhost", backend.getHost());
+        assertEquals(2, backend.getWeight());
+        assertFalse(backend.getAddress().isUnresolved());
+        assertSame(backend.getAddress(), backend.getAddress());
+    }
+
+    @Test
+    void testRegister_ExpandsEachAddressIntoAMember() throws Exception {
+        resolver.register("localhost", 9001, 3, true, added::add, removed::add);
+
+        InetAddress[] expected = InetAddress.getAllByName("localhost");
+        assertEquals(expected.length, added.size());
+        for (Backend backend : added) {
+            assertEquals(9001, backend.getPort());
+            assertEquals(3, backend.getWeight());
+            assertEquals(backend.getHost(), backend.getAddress().getAddress().getHostAddress());
+        }
+        assertTrue(removed.isEmpty());
+    }
+
+    @Test
+    void testRegister_LiteralAddress() {
+        resolver.register("127.0.0.1", 9001, 1, true, added::add, removed::add);
+
+        assertEquals(1, added.size());
+        assertEquals(new Backend("127.0.0.1", 9001), added.get(0));
+    }
+
+    @Test
+    void testUpdateAddress_OnlySwapsOnChange() throws Exception {
+        Backend backend = new Backend("localhost", 9001);
+        InetSocketAddress original = backend.getAddress();
+
+        assertFalse(backend.updateAddress(original.getAddress()));
+        assertSame(original, backend.getAddress());
+
+        InetAddress other = InetAddress.getByName("127.0.0.2");
+        assertTrue(backend.updateAddress(other));
+        assertEquals(new InetSocketAddress(other, 9001), backend.getAddress());
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.loadbalancer.unit;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.loadbalancer.util.ConcurrentRunner.runConcurrently;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackendStatsTest {
+
+    private static final int THREADS = 8;
+    private static final int UPDATES = 10_000;
+
+    @Test
+    void testSum_ExactAcrossThreads() throws Exception {
+        BackendStats stats = new BackendStats();
+
+        runConcurrently(THREADS, () -> {
+            for (int i = 0; i < UPDATES; i++) {
+                stats.increment(BackendStats.ACCEPTED);
+                stats.add(BackendStats.BYTES_TO_BACKEND, 3);
+            }
+        });
+
+        assertEquals((long) THREADS * UPDATES, stats.sum(BackendStats.ACCEPTED));
+        assertEquals(3L * THREADS * UPDATES, stats.sum(BackendStats.BYTES_TO_BACKEND));
+        assertEquals(0, stats.sum(BackendStats.BYTES_FROM_BACKEND));
+    }
+
+    @Test
+    void testConnections_OpenedAndClosedOnDifferentThreads() throws Exception {
+        Backend backend = new Backend("localhost", 9001);
+        for (int i = 0; i < 5; i++) {
+            backend.incrementConnections();
+        }
+
+        Thread closer = new Thread(() -> {
+            backend.decrementConnections();
+            backend.decrementConnections();
+        });
+        closer.start();
+        closer.join();
+
+        assertEquals(3, backend.getActiveConnections());
+    }
+
+    @Test
+    void testApproximate_SeesOwnChangesImmediately() {
+        Backend backend = new Backend("localhost", 9001);
+        assertEquals(0, backend.getApproximateActiveConnections());
+
+        backend.incrementConnections();
+        backend.incrementConnections();
+        assertEquals(2, backend.getApproximateActiveConnections());
+
+        backend.decrementConnections();
+        assertEquals(1, backend.getApproximateActiveConnections());
+    }
+
+    @Test
+    void testApproximate_CatchesUpWithOtherThreads() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        BackendStats stats = new BackendStats(clock::get);
+        assertEquals(0, stats.approximateConnections());
+
+        Thread opener = new Thread(() -> {
+            for (int i = 0; i < 4; i++) {
+                stats.increment(BackendStats.CONNECTIONS);
+            }
+        });
+        opener.start();
+        opener.join();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(4, stats.approximateConnections());
+    }
+
+    @Test
+    void testLimit_NeverOvershotUnderContention() throws Exception {
+        Backend backend = new Backend("localhost", 9001);
+        backend.setMaxConnections(10);
+        AtomicInteger admitted = new AtomicInteger();
+
+        runConcurrently(THREADS, () -> {
+            for (int i = 0; i < 100; i++) {
+                if (backend.tryIncrementConnections()) {
+                    admitted.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(10, admitted.get());
+        assertEquals(10, backend.getActiveConnections());
+    }
+}
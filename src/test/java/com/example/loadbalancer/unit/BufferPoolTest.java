@@ -0,0 +1,75 @@
+package com.example.loadbalancer.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.loadbalancer.server.BufferPool;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferPoolTest {
+
+    private BufferPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new BufferPool(2);
+    }
+
+    @Test
+    void testAcquire_RoundsUpToSizeClass() {
+        ByteBuffer buffer = pool.acquire(5000);
+
+        assertTrue(buffer.isDirect());
+        assertEquals(8192, buffer.capacity());
+    }
+
+    @Test
+    void testAcquire_SmallRequestsUseSmallestClass() {
+        assertEquals(4096, pool.acquire(1).capacity());
+    }
+
+    @Test
+    void testRelease_ReusesBuffer() {
+        ByteBuffer buffer = pool.acquire(8192);
+        buffer.put((byte) 1);
+        pool.release(buffer);
+
+        ByteBuffer reused = pool.acquire(8192);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(1, pool.getAllocationCount());
+    }
+
+    @Test
+    void testRelease_BoundedPerSizeClass() {
+        ByteBuffer first = pool.acquire(8192);
+        ByteBuffer second = pool.acquire(8192);
+        ByteBuffer third = pool.acquire(8192);
+
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+
+        assertEquals(2, pool.getPooledCount());
+    }
+
+    @Test
+    void testRelease_IgnoresForeignBuffers() {
+        pool.release(ByteBuffer.allocate(8192));
+        pool.release(ByteBuffer.allocateDirect(5000));
+
+        assertEquals(0, pool.getPooledCount());
+    }
+
+    @Test
+    void testAcquire_OversizedRequestIsUnpooled() {
+        ByteBuffer buffer = pool.acquire(4 * 1024 * 1024);
+        pool.release(buffer);
+
+        assertEquals(4 * 1024 * 1024, buffer.capacity());
+        assertEquals(0, pool.getPooledCount());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.loadbalancer.unit;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.loadbalancer.server.ConnectionRegistry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionRegistryTest {
+
+    @Test
+    void testReserveSetRemove() {
+        ConnectionRegistry<String> registry = new ConnectionRegistry<>(2, 4);
+
+        long a = register(registry, 0, "a");
+        long b = register(registry, 1, "b");
+        assertEquals(2, registry.size());
+
+        assertEquals("a", registry.remove(a));
+        assertNull(registry.remove(a));
+        assertEquals(1, registry.size());
+        assertEquals(List.of("b"), contents(registry));
+
+        assertEquals("b", registry.remove(b));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testReusedSlot_StaleIdRemovesNothing() {
+        ConnectionRegistry<String> registry = new ConnectionRegistry<>(1, 1);
+
+        long first = register(registry, 0, "first");
+        registry.remove(first);
+        long second = register(registry, 0, "second");
+
+        assertNotEquals(first, second);
+        assertNull(registry.remove(first));
+        assertEquals(List.of("second"), contents(registry));
+        assertEquals("second", registry.remove(second));
+    }
+
+    @Test
+    void testReservedSlot_SkippedUntilSet() {
+        ConnectionRegistry<String> registry = new ConnectionRegistry<>(1, 4);
+
+        long id = registry.reserve(0);
+        assertEquals(1, registry.size());
+        assertTrue(contents(registry).isEmpty());
+
+        registry.set(id, "ready");
+        assertEquals(List.of("ready"), contents(registry));
+    }
+
+    @Test
+    void testGrowsPastInitialCapacity() {
+        ConnectionRegistry<Integer> registry = new ConnectionRegistry<>(1, 2);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(register(registry, 0, i));
+        }
+
+        assertEquals(100, registry.size());
+        assertEquals(100, new HashSet<>(contents(registry)).size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, registry.remove(ids.get(i)));
+        }
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testClear_InvalidatesOutstandingIds() {
+        ConnectionRegistry<String> registry = new ConnectionRegistry<>(2, 4);
+        long a = register(registry, 0, "a");
+        register(registry, 1, "b");
+
+        registry.clear();
+
+        assertEquals(0, registry.size());
+        assertTrue(contents(registry).isEmpty());
+        assertNull(registry.remove(a));
+    }
+
+    @Test
+    void testConcurrentRegisterAndRemove() throws Exception {
+        ConnectionRegistry<Integer> registry = new ConnectionRegistry<>(4, 8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int partition = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                List<Long> ids = new ArrayList<>();
+                for (int i = 0; i < 5_000; i++) {
+                    ids.add(register(registry, partition, i));
+                    if (i % 2 == 1) {
+                        assertNotNull(registry.remove(ids.get(i - 1)));
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+
+        Set<Integer> seen = new HashSet<>();
+        registry.forEach(seen::add);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(8 * 2_500, registry.size());
+        assertEquals(8 * 2_500, contents(registry).size());
+    }
+
+    private static <T> long register(ConnectionRegistry<T> registry, int partition, T connection) {
+        long id = registry.reserve(partition);
+        registry.set(id, connection);
+        return id;
+    }
+
+    private static <T> List<T> contents(ConnectionRegistry<T> registry) {
+        List<T> contents = new ArrayList<>();
+        registry.forEach(contents::add);
+        return contents;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.loadbalancer.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendSnapshot;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.ConnectionContext;
+import com.example.loadbalancer.core.ConsistentHashAlgorithm;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.loadbalancer.util.ConcurrentRunner.runConcurrently;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashAlgorithmTest {
+
+    private static final int CLIENTS = 10_000;
+
+    private ConsistentHashAlgorithm algorithm;
+    private BackendPool pool;
+
+    @BeforeEach
+    void setUp() {
+        algorithm = new ConsistentHashAlgorithm();
+        pool = new BackendPool();
+        for (int port = 9001; port <= 9010; port++) {
+            pool.addBackend(new Backend("localhost", port));
+        }
+    }
+
+    @Test
+    void testSelectBackend_StickyPerClientAddress() {
+        Backend first = algorithm.select(pool.getSnapshot(), client(42, 50000));
+        Backend second = algorithm.select(pool.getSnapshot(), client(42, 50001));
+
+        assertNotNull(first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testSelectBackend_IncludesPortWhenConfigured() {
+        ConsistentHashAlgorithm byPort = new ConsistentHashAlgorithm(true);
+        Map<Backend, Integer> counts = new HashMap<>();
+        for (int port = 40000; port < 40100; port++) {
+            counts.merge(byPort.select(pool.getSnapshot(), client(42, port)), 1, Integer::sum);
+        }
+
+        assertTrue(counts.size() > 1);
+    }
+
+    @Test
+    void testSelectBackend_EvenDistribution() {
+        Map<Backend, Integer> counts = new HashMap<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            counts.merge(algorithm.select(pool.getSnapshot(), client(i, 50000)), 1, Integer::sum);
+        }
+
+        assertEquals(10, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 700 && count < 1300, "skewed: " + counts));
+    }
+
+    @Test
+    void testSelectBackend_MinimalDisruptionOnBackendLoss() {
+        Map<Integer, Backend> before = new HashMap<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            before.put(i, algorithm.select(pool.getSnapshot(), client(i, 50000)));
+        }
+
+        Backend lost = pool.findBackend("localhost", 9005);
+        lost.setHealthy(false);
+
+        int moved = 0;
+        for (int i = 0; i < CLIENTS; i++) {
+            Backend after = algorithm.select(pool.getSnapshot(), client(i, 50000));
+            assertNotEquals(lost, after);
+            if (!before.get(i).equals(lost) && !before.get(i).equals(after)) {
+                moved++;
+            }
+        }
+
+        assertTrue(moved < CLIENTS / 20, "too many surviving keys remapped: " + moved);
+    }
+
+    @Test
+    void testSelectBackend_StaleSnapshotsUnderContention() throws Exception {
+        BackendSnapshot before = pool.getSnapshot();
+        Backend lost = before.getHealthy(0);
+        lost.setHealthy(false);
+        BackendSnapshot after = pool.getSnapshot();
+        AtomicInteger wrong = new AtomicInteger();
+
+        runConcurrently(8, () -> {
+            for (int i = 0; i < 2_000; i++) {
+                BackendSnapshot snapshot = i % 3 == 0 ? before : after;
+                if (!snapshot.getHealthyBackends().contains(algorithm.select(snapshot, client(i, 50000)))) {
+                    wrong.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(0, wrong.get());
+        for (int i = 0; i < 100; i++) {
+            assertNotEquals(lost, algorithm.select(after, client(i, 50000)));
+        }
+    }
+
+    @Test
+    void testSelectBackend_NoHealthyBackends() {
+        pool.getAllBackends().forEach(b -> b.setHealthy(false));
+
+        assertNull(algorithm.select(pool.getSnapshot(), client(1, 50000)));
+        assertNull(algorithm.selectBackend(new ArrayList<>()));
+    }
+
+    @Test
+    void testSelectBackend_WithoutContext() {
+        assertNotNull(algorithm.select(pool.getSnapshot()));
+    }
+
+    @Test
+    void testGetName() {
+        assertEquals("consistent-hash", algorithm.getName());
+    }
+
+    @Test
+    void testSelectBackend_ExcludingIsStickyFallback() {
+        ConnectionContext context = client(7, 50000);
+        Backend first = algorithm.select(pool.getSnapshot(), context);
+
+        BackendSnapshot excluding = pool.getSnapshot().excluding(List.of(first));
+        Backend fallback = algorithm.select(excluding, context);
+
+        assertNotNull(fallback);
+        assertNotEquals(first, fallback);
+        assertEquals(fallback, algorithm.select(excluding, client(7, 50001)));
+        // The cached table for the pool snapshot still serves normal lookups.
+        assertEquals(first, algorithm.select(pool.getSnapshot(), context));
+    }
+
+    private static ConnectionContext client(int id, int port) {
+        byte[] address = {10, (byte) (id >> 16), (byte) (id >> 8), (byte) id};
+        try {
+            return ConnectionContext.forClient(
+                    new InetSocketAddress(InetAddress.getByAddress(address), port));
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
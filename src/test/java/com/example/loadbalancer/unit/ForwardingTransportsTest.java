@@ -0,0 +1,28 @@
+package com.example.loadbalancer.unit;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.loadbalancer.server.ForwardingTransport;
+import com.example.loadbalancer.server.ForwardingTransports;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForwardingTransportsTest {
+
+    @Test
+    void testSelect_Nio() {
+        ForwardingTransport transport = ForwardingTransports.select("nio");
+        assertEquals("nio", transport.getName());
+        assertTrue(transport.isAvailable());
+    }
+
+    @Test
+    void testSelect_AutoFallsBackToNio() {
+        assertEquals("nio", ForwardingTransports.select("auto").getName());
+    }
+
+    @Test
+    void testSelect_UnknownFallsBackToNio() {
+        assertEquals("nio", ForwardingTransports.select("splice").getName());
+    }
+}
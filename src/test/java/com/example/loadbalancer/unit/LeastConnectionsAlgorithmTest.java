@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendSnapshot;
 import com.example.loadbalancer.core.LeastConnectionsAlgorithm;
 
 import java.util.ArrayList;
@@ -68,6 +69,20 @@ class LeastConnectionsAlgorithmTest {
         assertNull(selected);
     }
 
+    @Test
+    void testSelectBackend_SnapshotLeastConnections() {
+        backends.get(0).incrementConnections();
+        backends.get(2).setHealthy(false);
+
+        Backend selected = algorithm.select(BackendSnapshot.of(backends));
+        assertEquals(9002, selected.getPort());
+    }
+
+    @Test
+    void testSelectBackend_EmptySnapshot() {
+        assertNull(algorithm.select(BackendSnapshot.of(new ArrayList<>())));
+    }
+
     @Test
     void testGetName() {
         assertEquals("least-connections", algorithm.getName());
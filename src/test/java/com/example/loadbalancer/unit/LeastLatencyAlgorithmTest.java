@@ -0,0 +1,146 @@
+package com.example.loadbalancer.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.LeastLatencyAlgorithm;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeastLatencyAlgorithmTest {
+
+    private LeastLatencyAlgorithm algorithm;
+    private BackendPool pool;
+    private Backend fast;
+    private Backend slow;
+    private final AtomicLong clock = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        algorithm = new LeastLatencyAlgorithm();
+        pool = new BackendPool();
+        fast = new Backend("localhost", 9001);
+        slow = new Backend("localhost", 9002);
+        fast.setNanoClock(clock::get);
+        slow.setNanoClock(clock::get);
+        pool.addBackend(fast);
+        pool.addBackend(slow);
+    }
+
+    @Test
+    void testSelectBackend_PrefersLowerLatency() {
+        fast.recordConnectLatency(1_000_000);
+        slow.recordConnectLatency(20_000_000);
+
+        assertEquals(fast, algorithm.select(pool.getSnapshot()));
+    }
+
+    @Test
+    void testSelectBackend_AccountsForActiveConnections() {
+        fast.recordConnectLatency(1_000_000);
+        slow.recordConnectLatency(3_000_000);
+        for (int i = 0; i < 5; i++) {
+            fast.incrementConnections();
+        }
+
+        assertEquals(slow, algorithm.select(pool.getSnapshot()));
+    }
+
+    @Test
+    void testSelectBackend_UnsampledBackendUsesMeanLatency() {
+        slow.recordConnectLatency(10_000_000);
+        Backend fresh = new Backend("localhost", 9003);
+        pool.addBackend(fresh);
+        slow.incrementConnections();
+
+        assertNotEquals(slow, algorithm.select(pool.getSnapshot()));
+    }
+
+    @Test
+    void testSelectBackend_FirstByteOnlyBackendScoredOnItsOwnSamples() {
+        // As for a backend served from the warm pool, which never records a connect.
+        fast.recordFirstByteLatency(1_000_000);
+        slow.recordConnectLatency(20_000_000);
+        for (int i = 0; i < 3; i++) {
+            fast.incrementConnections();
+        }
+
+        assertTrue(fast.hasLatencySamples());
+        assertEquals(fast, algorithm.select(pool.getSnapshot()));
+    }
+
+    @Test
+    void testSelectBackend_OnlyHealthy() {
+        fast.recordConnectLatency(1_000_000);
+        slow.recordConnectLatency(20_000_000);
+        fast.setHealthy(false);
+
+        assertEquals(slow, algorithm.select(pool.getSnapshot()));
+    }
+
+    @Test
+    void testSelectBackend_EmptyList() {
+        assertNull(algorithm.selectBackend(new ArrayList<>()));
+    }
+
+    @Test
+    void testLatencyEwma_JumpsToPeaksAndDecays() {
+        fast.setLatencyDecayMillis(100);
+        fast.recordConnectLatency(1_000_000);
+        fast.recordConnectLatency(50_000_000);
+        assertEquals(50_000_000, fast.getConnectLatencyNanos());
+
+        // After one time constant the old peak keeps exp(-1) of the weight.
+        advanceMillis(100);
+        fast.recordConnectLatency(1_000_000);
+        double weight = Math.exp(-1);
+        double decayed = 50_000_000 * weight + 1_000_000 * (1 - weight);
+        assertEquals(decayed, fast.getConnectLatencyNanos(), 1);
+
+        fast.recordFirstByteLatency(2_000_000);
+        assertEquals(decayed + 2_000_000, fast.getLatencyNanos(), 1);
+    }
+
+    @Test
+    void testLatencyEwma_DecaysWhileIdle() {
+        fast.setLatencyDecayMillis(50);
+        fast.recordConnectLatency(50_000_000);
+
+        advanceMillis(200);
+
+        assertEquals(50_000_000 * Math.exp(-4), fast.getConnectLatencyNanos(), 1);
+    }
+
+    @Test
+    void testSelectBackend_SpikedBackendChosenAgainAfterIdling() {
+        fast.setLatencyDecayMillis(50);
+        slow.setLatencyDecayMillis(50);
+        fast.recordConnectLatency(1_000_000);
+        slow.recordConnectLatency(500_000_000);
+        for (int i = 0; i < 5; i++) {
+            fast.incrementConnections();
+        }
+        assertEquals(fast, algorithm.select(pool.getSnapshot()));
+
+        // `fast` keeps serving and sampling; the spiked `slow` gets no traffic and no samples.
+        advanceMillis(400);
+        fast.recordConnectLatency(1_000_000);
+
+        assertEquals(slow, algorithm.select(pool.getSnapshot()));
+    }
+
+    @Test
+    void testGetName() {
+        assertEquals("least-latency", algorithm.getName());
+    }
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.loadbalancer.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.metrics.BackendMeters;
+import com.example.loadbalancer.metrics.LoadBalancerMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadBalancerMetricsTest {
+
+    private MeterRegistry registry;
+    private BackendPool pool;
+    private LoadBalancerMetrics metrics;
+    private Backend backend;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        pool = new BackendPool();
+        metrics = new LoadBalancerMetrics(registry, pool);
+        backend = new Backend("localhost", 9001);
+        pool.addBackend(backend);
+    }
+
+    @Test
+    void testForBackend_ReturnsSameMeters() {
+        assertSame(metrics.forBackend(backend), metrics.forBackend(backend));
+    }
+
+    @Test
+    void testBytes_RollUpIntoTotals() {
+        BackendMeters meters = metrics.forBackend(backend);
+        meters.recordBytesToBackend(100);
+        meters.recordBytesFromBackend(250);
+
+        assertEquals(100, counter("loadbalancer.backend.bytes", "to_backend").count());
+        assertEquals(250, counter("loadbalancer.backend.bytes", "from_backend").count());
+        assertEquals(100, counter("loadbalancer.bytes", "to_backend").count());
+        assertEquals(250, counter("loadbalancer.bytes", "from_backend").count());
+    }
+
+    @Test
+    void testConnections_Counted() {
+        BackendMeters meters = metrics.forBackend(backend);
+        meters.recordAccepted();
+        meters.recordAccepted();
+        meters.recordConnectFailure();
+        metrics.recordRejected();
+
+        assertEquals(2, registry.get("loadbalancer.backend.connections.accepted").tag("backend", "localhost:9001")
+                .functionCounter().count());
+        assertEquals(1, registry.get("loadbalancer.connect.failures").functionCounter().count());
+        assertEquals(1, registry.get("loadbalancer.connections.rejected").functionCounter().count());
+    }
+
+    @Test
+    void testActiveConnectionsGauge() {
+        backend.incrementConnections();
+        metrics.forBackend(backend);
+
+        assertEquals(1, registry.get("loadbalancer.connections.active").gauge().value());
+        assertEquals(1, registry.get("loadbalancer.backend.connections.active").gauge().value());
+    }
+
+    @Test
+    void testTimers_RecordPercentiles() {
+        BackendMeters meters = metrics.forBackend(backend);
+        for (int i = 1; i <= 100; i++) {
+            meters.recordConnectTime(i * 1_000_000L);
+        }
+
+        Timer timer = registry.get("loadbalancer.backend.connect.time").timer();
+        assertEquals(100, timer.count());
+        assertEquals(100, registry.get("loadbalancer.connect.time").timer().count());
+        assertTrue(timer.takeSnapshot().percentileValues().length > 0);
+    }
+
+    @Test
+    void testRemove_UnregistersBackendMeters() {
+        metrics.forBackend(backend).recordAccepted();
+        metrics.remove(backend);
+
+        assertNull(registry.find("loadbalancer.backend.connections.accepted").functionCounter());
+        assertEquals(1, registry.get("loadbalancer.connections.accepted").functionCounter().count());
+    }
+
+    private FunctionCounter counter(String name, String direction) {
+        return registry.get(name).tag("direction", direction).functionCounter();
+    }
+}
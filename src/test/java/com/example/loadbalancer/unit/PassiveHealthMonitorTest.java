@@ -0,0 +1,183 @@
+package com.example.loadbalancer.unit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.health.PassiveHealthMonitor;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PassiveHealthMonitorTest {
+
+    private PassiveHealthMonitor monitor;
+    private BackendPool pool;
+    private Backend backend;
+
+    @BeforeEach
+    void setUp() {
+        pool = new BackendPool();
+        monitor = new PassiveHealthMonitor(pool, 3, 100, 1000, 50);
+        backend = new Backend("localhost", 9001);
+        pool.addBackend(backend);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void testEjectsAfterConsecutiveFailures() {
+        monitor.onFailure(backend);
+        monitor.onFailure(backend);
+        assertTrue(backend.isHealthy());
+
+        monitor.onFailure(backend);
+
+        assertTrue(backend.isEjected());
+        assertFalse(backend.isHealthy());
+        assertEquals(0, pool.getHealthyBackendsCount());
+    }
+
+    @Test
+    void testSuccessResetsFailureCount() {
+        monitor.onFailure(backend);
+        monitor.onFailure(backend);
+        monitor.onSuccess(backend);
+        monitor.onFailure(backend);
+        monitor.onFailure(backend);
+
+        assertFalse(backend.isEjected());
+    }
+
+    @Test
+    void testReinstatesAfterBackoff() {
+        for (int i = 0; i < 3; i++) {
+            monitor.onFailure(backend);
+        }
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> !backend.isEjected());
+        assertTrue(backend.isHealthy());
+        assertEquals(1, pool.getHealthyBackendsCount());
+    }
+
+    @Test
+    void testRepeatEjectionDoublesBackoff() {
+        for (int i = 0; i < 3; i++) {
+            monitor.onFailure(backend);
+        }
+        await().atMost(2, TimeUnit.SECONDS).until(() -> !backend.isEjected());
+
+        // On probation after reinstatement: one more failure ejects for twice as long.
+        monitor.onFailure(backend);
+        long ejectedAt = System.nanoTime();
+        assertTrue(backend.isEjected());
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> !backend.isEjected());
+        assertTrue(System.nanoTime() - ejectedAt >= TimeUnit.MILLISECONDS.toNanos(180));
+    }
+
+    @Test
+    void testActiveHealthAndEjectionAreIndependent() {
+        for (int i = 0; i < 3; i++) {
+            monitor.onFailure(backend);
+        }
+        backend.setHealthy(true);
+        assertFalse(backend.isHealthy());
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> !backend.isEjected());
+        backend.setHealthy(false);
+        assertFalse(backend.isHealthy());
+    }
+
+    @Test
+    void testMaxEjectionPercent_CapsSimultaneousEjections() {
+        Backend second = new Backend("localhost", 9002);
+        Backend third = new Backend("localhost", 9003);
+        Backend fourth = new Backend("localhost", 9004);
+        pool.addBackend(second);
+        pool.addBackend(third);
+        pool.addBackend(fourth);
+
+        for (Backend failing : new Backend[] {backend, second, third}) {
+            for (int i = 0; i < 3; i++) {
+                monitor.onFailure(failing);
+            }
+        }
+
+        assertTrue(backend.isEjected());
+        assertTrue(second.isEjected());
+        assertFalse(third.isEjected());
+        assertEquals(2, pool.getHealthyBackendsCount());
+
+        // Once an ejection ends there is room again, and the held-back backend's next failure ejects it.
+        await().atMost(2, TimeUnit.SECONDS).until(() -> !backend.isEjected());
+        monitor.onFailure(third);
+        assertTrue(third.isEjected());
+    }
+
+    @Test
+    void testMaxEjectionPercent_AlwaysAllowsOne() {
+        PassiveHealthMonitor strict = new PassiveHealthMonitor(pool, 3, 100, 1000, 0);
+        Backend second = new Backend("localhost", 9002);
+        pool.addBackend(second);
+        try {
+            for (int i = 0; i < 3; i++) {
+                strict.onFailure(backend);
+                strict.onFailure(second);
+            }
+            assertTrue(backend.isEjected());
+            assertFalse(second.isEjected());
+        } finally {
+            strict.stop();
+        }
+    }
+
+    @Test
+    void testRemovedBackend_FreesItsEjectionSlot() {
+        Backend second = new Backend("localhost", 9002);
+        pool.addBackend(second);
+        for (int i = 0; i < 3; i++) {
+            monitor.onFailure(backend);
+        }
+        assertTrue(backend.isEjected());
+
+        pool.removeBackend(backend);
+        monitor.forget(backend);
+        pool.addBackend(new Backend("localhost", 9003));
+        for (int i = 0; i < 3; i++) {
+            monitor.onFailure(second);
+        }
+
+        assertTrue(second.isEjected());
+    }
+
+    @Test
+    void testRemovedBackend_NotEjectedByLateFailures() {
+        pool.removeBackend(backend);
+        for (int i = 0; i < 3; i++) {
+            monitor.onFailure(backend);
+        }
+
+        assertFalse(backend.isEjected());
+    }
+
+    @Test
+    void testDisabled() {
+        PassiveHealthMonitor disabled = new PassiveHealthMonitor(pool, 0, 100, 1000, 50);
+        try {
+            for (int i = 0; i < 10; i++) {
+                disabled.onFailure(backend);
+            }
+            assertFalse(backend.isEjected());
+        } finally {
+            disabled.stop();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.loadbalancer.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.PowerOfTwoChoicesAlgorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PowerOfTwoChoicesAlgorithmTest {
+
+    private PowerOfTwoChoicesAlgorithm algorithm;
+    private BackendPool pool;
+
+    @BeforeEach
+    void setUp() {
+        algorithm = new PowerOfTwoChoicesAlgorithm();
+        pool = new BackendPool();
+    }
+
+    @Test
+    void testSelectBackend_PicksLessLoadedOfTwo() {
+        Backend busy = new Backend("localhost", 9001);
+        Backend idle = new Backend("localhost", 9002);
+        busy.incrementConnections();
+        pool.addBackend(busy);
+        pool.addBackend(idle);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(idle, algorithm.select(pool.getSnapshot()));
+        }
+    }
+
+    @Test
+    void testSelectBackend_WeightedLoad() {
+        Backend big = new Backend("localhost", 9001, 4);
+        Backend small = new Backend("localhost", 9002, 1);
+        big.incrementConnections();
+        big.incrementConnections();
+        small.incrementConnections();
+        pool.addBackend(big);
+        pool.addBackend(small);
+
+        assertEquals(big, algorithm.select(pool.getSnapshot()));
+    }
+
+    @Test
+    void testSelectBackend_SpreadsLoad() {
+        for (int port = 9001; port <= 9010; port++) {
+            pool.addBackend(new Backend("localhost", port));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            algorithm.select(pool.getSnapshot()).incrementConnections();
+        }
+
+        for (Backend backend : pool.getAllBackends()) {
+            assertTrue(backend.getActiveConnections() > 50, backend + " was starved");
+            assertTrue(backend.getActiveConnections() < 150, backend + " was overloaded");
+        }
+    }
+
+    @Test
+    void testSelectBackend_OnlyHealthy() {
+        Backend healthy = new Backend("localhost", 9001);
+        Backend unhealthy = new Backend("localhost", 9002);
+        unhealthy.setHealthy(false);
+        pool.addBackend(healthy);
+        pool.addBackend(unhealthy);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(healthy, algorithm.select(pool.getSnapshot()));
+        }
+    }
+
+    @Test
+    void testSelectBackend_AllUnhealthy() {
+        List<Backend> backends = new ArrayList<>(List.of(new Backend("localhost", 9001)));
+        backends.get(0).setHealthy(false);
+
+        assertNull(algorithm.selectBackend(backends));
+        assertNull(algorithm.selectBackend(new ArrayList<>()));
+    }
+
+    @Test
+    void testGetName() {
+        assertEquals("p2c", algorithm.getName());
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendSnapshot;
 import com.example.loadbalancer.core.RoundRobinAlgorithm;
 
 import java.util.ArrayList;
@@ -70,6 +71,21 @@ class RoundRobinAlgorithmTest {
         assertNull(selected);
     }
 
+    @Test
+    void testSelectBackend_SnapshotCyclesHealthy() {
+        backends.get(1).setHealthy(false);
+        BackendSnapshot snapshot = BackendSnapshot.of(backends);
+
+        assertEquals(9001, algorithm.select(snapshot).getPort());
+        assertEquals(9003, algorithm.select(snapshot).getPort());
+        assertEquals(9001, algorithm.select(snapshot).getPort());
+    }
+
+    @Test
+    void testSelectBackend_EmptySnapshot() {
+        assertNull(algorithm.select(BackendSnapshot.of(new ArrayList<>())));
+    }
+
     @Test
     void testGetName() {
         assertEquals("round-robin", algorithm.getName());
@@ -0,0 +1,185 @@
+package com.example.loadbalancer.unit;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.ConnectionContext;
+import com.example.loadbalancer.core.ConsistentHashAlgorithm;
+import com.example.loadbalancer.core.LeastConnectionsAlgorithm;
+import com.example.loadbalancer.core.LoadBalancingAlgorithm;
+import com.example.loadbalancer.core.PowerOfTwoChoicesAlgorithm;
+import com.example.loadbalancer.core.RoundRobinAlgorithm;
+import com.example.loadbalancer.core.WeightedRoundRobinAlgorithm;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowStartTest {
+
+    private static final long LONG_WINDOW_MILLIS = 60_000;
+    private static final int PICKS = 10_000;
+
+    @Test
+    void testDisabledByDefault() {
+        Backend backend = new Backend("localhost", 9001, 4);
+        backend.startSlowStart();
+
+        assertFalse(backend.isWarming());
+        assertEquals(1.0, backend.getSlowStartFactor());
+        assertEquals(4.0, backend.getEffectiveWeight());
+    }
+
+    @Test
+    void testAddedBackend_StartsNearMinimumWeight() {
+        Backend backend = new Backend("localhost", 9001, 4);
+        backend.setSlowStartMillis(LONG_WINDOW_MILLIS);
+        new BackendPool().addBackend(backend);
+
+        assertTrue(backend.isWarming());
+        assertEquals(0.1, backend.getSlowStartFactor(), 0.01);
+        assertEquals(0.4, backend.getEffectiveWeight(), 0.05);
+    }
+
+    @Test
+    void testRamp_ReachesFullWeightAfterWindow() {
+        AtomicLong clock = new AtomicLong();
+        Backend backend = new Backend("localhost", 9001);
+        backend.setNanoClock(clock::get);
+        backend.setSlowStartMillis(200);
+        backend.startSlowStart();
+        assertTrue(backend.isWarming());
+        assertEquals(0.1, backend.getSlowStartFactor());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(120));
+        assertEquals(0.6, backend.getSlowStartFactor(), 1e-9);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(80));
+        assertFalse(backend.isWarming());
+        assertEquals(1.0, backend.getSlowStartFactor());
+    }
+
+    @Test
+    void testRecovery_RestartsRamp() {
+        Backend backend = new Backend("localhost", 9001);
+        backend.setSlowStartMillis(LONG_WINDOW_MILLIS);
+        assertFalse(backend.isWarming());
+
+        backend.setHealthy(false);
+        backend.setHealthy(true);
+        assertTrue(backend.isWarming());
+    }
+
+    @Test
+    void testEjectionEnded_RestartsRamp() {
+        Backend backend = new Backend("localhost", 9001);
+        backend.setSlowStartMillis(LONG_WINDOW_MILLIS);
+
+        backend.setEjected(true);
+        assertFalse(backend.isWarming());
+        backend.setEjected(false);
+        assertTrue(backend.isWarming());
+    }
+
+    @Test
+    void testLeastConnections_WarmingBackendNotFlooded() {
+        Backend warm = new Backend("localhost", 9001);
+        Backend cold = new Backend("localhost", 9002);
+        BackendPool pool = pool(warm, cold);
+        LoadBalancingAlgorithm algorithm = new LeastConnectionsAlgorithm();
+
+        setConnections(warm, 3);
+        assertEquals(warm, algorithm.select(pool.getSnapshot()));
+
+        setConnections(warm, 12);
+        assertEquals(cold, algorithm.select(pool.getSnapshot()));
+    }
+
+    @Test
+    void testPowerOfTwoChoices_WarmingBackendNotFlooded() {
+        Backend warm = new Backend("localhost", 9001);
+        Backend cold = new Backend("localhost", 9002);
+        BackendPool pool = pool(warm, cold);
+        LoadBalancingAlgorithm algorithm = new PowerOfTwoChoicesAlgorithm();
+
+        setConnections(warm, 3);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(warm, algorithm.select(pool.getSnapshot()));
+        }
+    }
+
+    @Test
+    void testRoundRobin_WarmingBackendGetsReducedShare() {
+        assertReducedShare(new RoundRobinAlgorithm());
+    }
+
+    @Test
+    void testWeightedRoundRobin_WarmingBackendGetsReducedShare() {
+        assertReducedShare(new WeightedRoundRobinAlgorithm());
+    }
+
+    @Test
+    void testConsistentHash_WarmingBackendGetsReducedShareAndStaysSticky() {
+        Backend warm = new Backend("localhost", 9001);
+        Backend cold = new Backend("localhost", 9002);
+        BackendPool pool = pool(warm, cold);
+        ConsistentHashAlgorithm algorithm = new ConsistentHashAlgorithm();
+
+        int toCold = 0;
+        for (int i = 0; i < PICKS; i++) {
+            Backend selected = algorithm.select(pool.getSnapshot(), client(i));
+            assertEquals(selected, algorithm.select(pool.getSnapshot(), client(i)));
+            if (selected == cold) {
+                toCold++;
+            }
+        }
+
+        double coldShare = (double) toCold / PICKS;
+        assertTrue(coldShare > 0.02 && coldShare < 0.15, "share " + coldShare);
+    }
+
+    private static void assertReducedShare(LoadBalancingAlgorithm algorithm) {
+        Backend warm = new Backend("localhost", 9001);
+        Backend cold = new Backend("localhost", 9002);
+        BackendPool pool = pool(warm, cold);
+
+        int toCold = 0;
+        for (int i = 0; i < PICKS; i++) {
+            if (algorithm.select(pool.getSnapshot()) == cold) {
+                toCold++;
+            }
+        }
+
+        double coldShare = (double) toCold / PICKS;
+        assertTrue(coldShare > 0.02 && coldShare < 0.15, "share " + coldShare);
+    }
+
+    // `cold` joins with slow start on, `warm` without.
+    private static BackendPool pool(Backend warm, Backend cold) {
+        BackendPool pool = new BackendPool();
+        pool.addBackend(warm);
+        cold.setSlowStartMillis(LONG_WINDOW_MILLIS);
+        pool.addBackend(cold);
+        return pool;
+    }
+
+    private static void setConnections(Backend backend, int connections) {
+        for (int i = 0; i < connections; i++) {
+            backend.incrementConnections();
+        }
+    }
+
+    private static ConnectionContext client(int id) {
+        byte[] address = {10, (byte) (id >> 16), (byte) (id >> 8), (byte) id};
+        try {
+            return ConnectionContext.forClient(new InetSocketAddress(InetAddress.getByAddress(address), 50000));
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.loadbalancer.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.loadbalancer.server.TimingWheel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long TICK = 10;
+
+    private TimingWheel wheel;
+    private List<String> fired;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimingWheel(TICK, 8, 0);
+        fired = new ArrayList<>();
+    }
+
+    @Test
+    void testAdvance_FiresOnlyOnceDeadlinePassed() {
+        wheel.schedule(() -> fired.add("a"), 25, 0);
+
+        wheel.advance(29);
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(30);
+        assertEquals(List.of("a"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_NeverFiresEarly() {
+        wheel.schedule(() -> fired.add("a"), 1, 5);
+
+        wheel.advance(5);
+        wheel.advance(9);
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(10);
+        assertEquals(List.of("a"), fired);
+    }
+
+    @Test
+    void testAdvance_DeadlinesBeyondOneRevolution() {
+        // 8 buckets of 10 cover 80; 95 shares a bucket with 15 but is a revolution later.
+        wheel.schedule(() -> fired.add("near"), 15, 0);
+        wheel.schedule(() -> fired.add("far"), 95, 0);
+
+        wheel.advance(20);
+        assertEquals(List.of("near"), fired);
+
+        wheel.advance(90);
+        assertEquals(List.of("near"), fired);
+
+        wheel.advance(100);
+        assertEquals(List.of("near", "far"), fired);
+    }
+
+    @Test
+    void testAdvance_CatchesUpAfterStall() {
+        for (int i = 1; i <= 20; i++) {
+            wheel.schedule(() -> fired.add("t"), i * 10, 0);
+        }
+
+        wheel.advance(1000);
+
+        assertEquals(20, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testCancel_UnlinksImmediately() {
+        TimingWheel.Timeout timeout = wheel.schedule(() -> fired.add("a"), 50, 0);
+        wheel.schedule(() -> fired.add("b"), 50, 0);
+        assertEquals(2, wheel.size());
+
+        timeout.cancel();
+
+        assertFalse(timeout.isPending());
+        assertEquals(1, wheel.size());
+        wheel.advance(100);
+        assertEquals(List.of("b"), fired);
+    }
+
+    @Test
+    void testCancel_ByEarlierTaskInSameAdvance() {
+        TimingWheel.Timeout[] second = new TimingWheel.Timeout[1];
+        wheel.schedule(() -> {
+            fired.add("first");
+            second[0].cancel();
+        }, 10, 0);
+        second[0] = wheel.schedule(() -> fired.add("second"), 20, 0);
+
+        // Both are due in this advance, but the first runs first and cancels the second.
+        wheel.advance(50);
+
+        assertEquals(List.of("first"), fired);
+    }
+
+    @Test
+    void testSchedule_FromExpiringTaskLandsInFutureTick() {
+        wheel.schedule(() -> {
+            fired.add("a");
+            wheel.schedule(() -> fired.add("b"), 0, 20);
+        }, 10, 0);
+
+        wheel.advance(20);
+        assertEquals(List.of("a"), fired);
+
+        wheel.advance(30);
+        assertEquals(List.of("a", "b"), fired);
+    }
+
+    @Test
+    void testNanosUntilNextTimeout() {
+        assertEquals(1000, wheel.nanosUntilNextTimeout(0, 1000));
+
+        wheel.schedule(() -> fired.add("a"), 35, 0);
+
+        assertEquals(40, wheel.nanosUntilNextTimeout(0, 1000));
+        assertEquals(15, wheel.nanosUntilNextTimeout(25, 1000));
+        assertEquals(20, wheel.nanosUntilNextTimeout(0, 20));
+    }
+
+    @Test
+    void testConstructor_RejectsNonPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel(TICK, 100, 0));
+    }
+}
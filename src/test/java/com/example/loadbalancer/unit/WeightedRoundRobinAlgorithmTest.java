@@ -0,0 +1,153 @@
+package com.example.loadbalancer.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.loadbalancer.core.Backend;
+import com.example.loadbalancer.core.BackendSnapshot;
+import com.example.loadbalancer.core.BackendPool;
+import com.example.loadbalancer.core.WeightedRoundRobinAlgorithm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.loadbalancer.util.ConcurrentRunner.runConcurrently;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedRoundRobinAlgorithmTest {
+
+    private WeightedRoundRobinAlgorithm algorithm;
+    private BackendPool pool;
+    private Backend heavy;
+    private Backend medium;
+    private Backend light;
+
+    @BeforeEach
+    void setUp() {
+        algorithm = new WeightedRoundRobinAlgorithm();
+        pool = new BackendPool();
+        heavy = new Backend("localhost", 9001, 5);
+        medium = new Backend("localhost", 9002, 3);
+        light = new Backend("localhost", 9003, 1);
+        pool.addBackend(heavy);
+        pool.addBackend(medium);
+        pool.addBackend(light);
+    }
+
+    @Test
+    void testSelectBackend_ProportionalToWeight() {
+        Map<Backend, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 90; i++) {
+            counts.merge(algorithm.select(pool.getSnapshot()), 1, Integer::sum);
+        }
+
+        assertEquals(50, counts.get(heavy));
+        assertEquals(30, counts.get(medium));
+        assertEquals(10, counts.get(light));
+    }
+
+    @Test
+    void testSelectBackend_Interleaved() {
+        int longestRun = 0;
+        int run = 0;
+        Backend previous = null;
+        for (int i = 0; i < 18; i++) {
+            Backend selected = algorithm.select(pool.getSnapshot());
+            run = selected == previous ? run + 1 : 1;
+            longestRun = Math.max(longestRun, run);
+            previous = selected;
+        }
+
+        assertTrue(longestRun <= 2, "heavy backend should not be picked in a burst");
+    }
+
+    @Test
+    void testSelectBackend_RecomputesOnHealthChange() {
+        algorithm.select(pool.getSnapshot());
+        heavy.setHealthy(false);
+
+        for (int i = 0; i < 8; i++) {
+            Backend selected = algorithm.select(pool.getSnapshot());
+            assertNotEquals(heavy, selected);
+        }
+    }
+
+    @Test
+    void testSelectBackend_StaleSnapshotsUnderContention() throws Exception {
+        BackendSnapshot before = pool.getSnapshot();
+        heavy.setHealthy(false);
+        BackendSnapshot after = pool.getSnapshot();
+        AtomicInteger wrong = new AtomicInteger();
+
+        runConcurrently(8, () -> {
+            for (int i = 0; i < 2_000; i++) {
+                BackendSnapshot snapshot = i % 3 == 0 ? before : after;
+                if (!snapshot.getHealthyBackends().contains(algorithm.select(snapshot))) {
+                    wrong.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(0, wrong.get());
+        // The older snapshot never displaced the newer schedule for good.
+        for (int i = 0; i < 8; i++) {
+            assertNotEquals(heavy, algorithm.select(after));
+        }
+    }
+
+    @Test
+    void testSelectBackend_AllUnhealthy() {
+        heavy.setHealthy(false);
+        medium.setHealthy(false);
+        light.setHealthy(false);
+
+        assertNull(algorithm.select(pool.getSnapshot()));
+    }
+
+    @Test
+    void testSelectBackend_List() {
+        List<Backend> backends = new ArrayList<>(List.of(heavy, light));
+        light.setHealthy(false);
+
+        assertEquals(heavy, algorithm.selectBackend(backends));
+        assertNull(algorithm.selectBackend(new ArrayList<>()));
+    }
+
+    @Test
+    void testSelect_AdHocSnapshotsDoNotShareSchedule() {
+        assertEquals(heavy, algorithm.select(BackendSnapshot.of(List.of(heavy))));
+        assertEquals(light, algorithm.select(BackendSnapshot.of(List.of(light))));
+        assertNull(algorithm.select(BackendSnapshot.of(List.of())));
+    }
+
+    @Test
+    void testBackend_RejectsNonPositiveWeight() {
+        assertThrows(IllegalArgumentException.class, () -> new Backend("localhost", 9004, 0));
+    }
+
+    @Test
+    void testGetName() {
+        assertEquals("weighted-round-robin", algorithm.getName());
+    }
+
+    @Test
+    void testSelectBackend_ExcludingSkipsFailedBackends() {
+        BackendSnapshot excluding = pool.getSnapshot().excluding(List.of(heavy));
+
+        Map<Backend, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 40; i++) {
+            counts.merge(algorithm.select(excluding), 1, Integer::sum);
+        }
+
+        assertNull(counts.get(heavy));
+        assertTrue(counts.get(medium) > counts.get(light));
+    }
+
+    @Test
+    void testSelectBackend_ExcludingEverything() {
+        assertNull(algorithm.select(pool.getSnapshot().excluding(List.of(heavy, medium, light))));
+    }
+}
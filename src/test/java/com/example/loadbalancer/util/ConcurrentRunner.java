@@ -0,0 +1,34 @@
+package com.example.loadbalancer.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public final class ConcurrentRunner {
+
+    private ConcurrentRunner() {
+    }
+
+    // Releases every thread at once so the work actually overlaps, then waits for all of them.
+    public static void runConcurrently(int threads, Runnable work) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> started = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                work.run();
+            });
+            thread.start();
+            started.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : started) {
+            thread.join();
+        }
+    }
+}
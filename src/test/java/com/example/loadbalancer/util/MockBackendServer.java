@@ -3,18 +3,27 @@ package com.example.loadbalancer.util;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class MockBackendServer {
 
     private final int port;
     private final AtomicBoolean running = new AtomicBoolean(false);
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
     private ServerSocket serverSocket;
     private ExecutorService executorService;
     private int connectionCount = 0;
 
+    // Binds an ephemeral port; read it back with getPort() after start().
+    public MockBackendServer() {
+        this(0);
+    }
+
     public MockBackendServer(int port) {
         this.port = port;
     }
@@ -29,7 +38,15 @@ public class MockBackendServer {
                 try {
                     Socket clientSocket = serverSocket.accept();
                     connectionCount++;
+                    clients.add(clientSocket);
+                    // stop() may already have swept the clients; don't leave this one open.
+                    if (!running.get()) {
+                        clientSocket.close();
+                        return;
+                    }
                     executorService.submit(() -> handleClient(clientSocket));
+                } catch (RejectedExecutionException e) {
+                    return;
                 } catch (IOException e) {
                     if (running.get()) {
                         e.printStackTrace();
@@ -41,7 +58,8 @@ public class MockBackendServer {
 
     private void handleClient(Socket clientSocket) {
         try {
-            byte[] buffer = new byte[1024];
+            clientSocket.setTcpNoDelay(true);
+            byte[] buffer = new byte[16384];
             while (running.get() && !clientSocket.isClosed()) {
                 int bytesRead = clientSocket.getInputStream().read(buffer);
                 if (bytesRead == -1) {
@@ -53,6 +71,7 @@ public class MockBackendServer {
             }
         } catch (IOException e) {
         } finally {
+            clients.remove(clientSocket);
             try {
                 clientSocket.close();
             } catch (IOException e) {
@@ -68,13 +87,19 @@ public class MockBackendServer {
             } catch (IOException e) {
             }
         }
+        for (Socket client : clients) {
+            try {
+                client.close();
+            } catch (IOException e) {
+            }
+        }
         if (executorService != null) {
             executorService.shutdown();
         }
     }
 
     public int getPort() {
-        return port;
+        return serverSocket != null ? serverSocket.getLocalPort() : port;
     }
 
     public int getConnectionCount() {